@@ -1,30 +1,72 @@
 package com.example.demo.api;
 
+import com.example.demo.concurrency.Bulkhead;
 import com.example.demo.model.Note;
 import com.example.demo.repo.NoteRepository;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/notes")
 public class NotesController {
 
   private final NoteRepository repo;
+  private final Executor readExecutor;
+  private final Bulkhead writeBulkhead;
+  private final long readTimeoutMillis;
+  private final ObservationRegistry observations;
 
-  public NotesController(NoteRepository repo) {
+  public NotesController(
+    NoteRepository repo,
+    @Qualifier("notesReadExecutor") Executor readExecutor,
+    @Qualifier("notesWriteBulkhead") Bulkhead writeBulkhead,
+    @Value("${notes.read.timeout:5s}") Duration readTimeout,
+    ObjectProvider<ObservationRegistry> observations
+  ) {
     this.repo = repo;
+    this.readExecutor = readExecutor;
+    this.writeBulkhead = writeBulkhead;
+    this.readTimeoutMillis = readTimeout.toMillis();
+    this.observations = observations.getIfAvailable(() -> ObservationRegistry.NOOP);
   }
 
   @PostMapping
   public NoteResponse create(@RequestBody @Valid CreateNoteRequest req) {
-    Note created = repo.create(req.body());
-    return new NoteResponse(created.id(), created.body());
+    return writeBulkhead.call(() -> {
+      Note created = repo.create(req.body());
+      return new NoteResponse(created.id(), created.body());
+    });
   }
 
+  // Runs off the container thread; a full read pool rejects synchronously (503) instead of queueing
+  // behind Tomcat, and the timeout frees the request even if the query is still running.
+  // notes.read.queue-wait covers the hand-off, from submit until a read thread picks the task up.
   @GetMapping
-  public List<NoteResponse> list() {
-    return repo.findAll().stream().map(n -> new NoteResponse(n.id(), n.body())).toList();
+  public CompletableFuture<List<NoteResponse>> list() {
+    Observation queueWait = Observation.start("notes.read.queue-wait", observations);
+    try {
+      return CompletableFuture
+        .supplyAsync(() -> {
+          queueWait.stop();
+          return repo.findAll().stream().map(n -> new NoteResponse(n.id(), n.body())).toList();
+        }, readExecutor)
+        .orTimeout(readTimeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException ex) {
+      queueWait.error(ex);
+      queueWait.stop();
+      throw ex;
+    }
   }
 }
@@ -0,0 +1,51 @@
+package com.example.demo.cache;
+
+import com.example.demo.model.Note;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/** Node-local {@code findAll} cache; {@code notes.cache.max-staleness} bounds it if an invalidation is lost. */
+@Component
+@ConditionalOnProperty(name = "notes.cache.enabled", havingValue = "true")
+public class NoteCache {
+
+  private record Entry(List<Note> notes, long loadedAtNanos, long generation) {}
+
+  private final long maxStalenessNanos;
+  private final AtomicLong generation = new AtomicLong();
+  private volatile Entry entry;
+
+  public NoteCache(@Value("${notes.cache.max-staleness:5s}") Duration maxStaleness) {
+    this.maxStalenessNanos = maxStaleness.toNanos();
+  }
+
+  public List<Note> getOrLoad(Supplier<List<Note>> loader) {
+    long now = System.nanoTime();
+    long current = generation.get();
+    Entry cached = entry;
+    if (cached != null && cached.generation() == current && now - cached.loadedAtNanos() < maxStalenessNanos) {
+      return cached.notes();
+    }
+    List<Note> loaded = List.copyOf(loader.get());
+    // An invalidation that lands while loading bumps the generation, so this entry is never served.
+    entry = new Entry(loaded, now, current);
+    return loaded;
+  }
+
+  public void invalidate() {
+    generation.incrementAndGet();
+    entry = null;
+  }
+
+  @EventListener
+  public void onNoteChanged(NoteChangedEvent event) {
+    invalidate();
+  }
+}
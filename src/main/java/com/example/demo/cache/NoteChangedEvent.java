@@ -0,0 +1,4 @@
+package com.example.demo.cache;
+
+/** Published by the note repository after a note is written. */
+public record NoteChangedEvent(long id) {}
@@ -0,0 +1,195 @@
+package com.example.demo.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.UUID;
+
+/** Broadcasts note writes to other replicas over Postgres {@code LISTEN/NOTIFY}; inactive on other databases. */
+@Component
+@ConditionalOnProperty(name = "notes.cache.enabled", havingValue = "true")
+public class PgNotifyInvalidationBus implements SmartLifecycle {
+
+  static final String CHANNEL = "note_changes";
+
+  private static final Logger log = LoggerFactory.getLogger(PgNotifyInvalidationBus.class);
+  private static final int POLL_MILLIS = 500;
+  private static final long RECONNECT_BACKOFF_MILLIS = 1_000;
+
+  private final DataSourceProperties dataSourceProperties;
+  private final JdbcTemplate jdbc;
+  private final NoteCache cache;
+  private final Timer propagationLag;
+  private final Counter remoteInvalidations;
+  private final String nodeId = UUID.randomUUID().toString();
+
+  private volatile boolean active;
+  private volatile boolean running;
+  private volatile Connection listenConnection;
+  private Thread listener;
+
+  public PgNotifyInvalidationBus(DataSourceProperties dataSourceProperties, JdbcTemplate jdbc, NoteCache cache,
+                                 MeterRegistry meters) {
+    this.dataSourceProperties = dataSourceProperties;
+    this.jdbc = jdbc;
+    this.cache = cache;
+    this.propagationLag = Timer.builder("notes.cache.invalidation.lag")
+      .description("Time from a write on one node to its invalidation being applied on another")
+      .publishPercentileHistogram()
+      .register(meters);
+    this.remoteInvalidations = Counter.builder("notes.cache.invalidations.remote")
+      .description("Invalidations received from other nodes")
+      .register(meters);
+  }
+
+  @EventListener
+  public void onNoteChanged(NoteChangedEvent event) {
+    if (!active) {
+      return;
+    }
+    String payload = event.id() + ":" + nodeId + ":" + System.currentTimeMillis();
+    try {
+      jdbc.query("select pg_notify(?, ?)", (RowCallbackHandler) rs -> {}, CHANNEL, payload);
+    } catch (DataAccessException e) {
+      // The write has already committed; other nodes catch up within notes.cache.max-staleness.
+      log.warn("Cannot broadcast invalidation for note {}: {}", event.id(), e.getMessage());
+    }
+  }
+
+  @Override
+  public void start() {
+    active = dataSourceProperties.determineUrl().startsWith("jdbc:postgresql:");
+    if (!active) {
+      log.info("Datasource is not Postgres; note cache invalidation stays node-local");
+      return;
+    }
+    running = true;
+    // Subscribe before returning so writes made right after startup are never missed.
+    tryListen();
+    listener = new Thread(this::listenLoop, "note-invalidation-listener");
+    listener.setDaemon(true);
+    listener.start();
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    if (listener != null) {
+      listener.interrupt();
+      try {
+        listener.join(Duration.ofMillis(POLL_MILLIS * 2L));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    closeListenConnection();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void listenLoop() {
+    while (running) {
+      Connection connection = listenConnection;
+      if (connection == null) {
+        if (!tryListen()) {
+          sleep(RECONNECT_BACKOFF_MILLIS);
+        }
+        continue;
+      }
+      try {
+        PGNotification[] notifications = connection.unwrap(PGConnection.class).getNotifications(POLL_MILLIS);
+        if (notifications != null) {
+          for (PGNotification notification : notifications) {
+            apply(notification.getParameter());
+          }
+        }
+      } catch (SQLException e) {
+        if (running) {
+          log.warn("Lost note invalidation connection, dropping local cache and reconnecting", e);
+          cache.invalidate();
+          closeListenConnection();
+        }
+      }
+    }
+  }
+
+  private boolean tryListen() {
+    Connection connection = null;
+    try {
+      connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+        dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+      try (Statement statement = connection.createStatement()) {
+        statement.execute("LISTEN " + CHANNEL);
+      }
+      listenConnection = connection;
+      // Writes made before LISTEN took effect were never broadcast to us.
+      cache.invalidate();
+      return true;
+    } catch (SQLException e) {
+      log.warn("Cannot LISTEN on {}: {}", CHANNEL, e.getMessage());
+      closeQuietly(connection);
+      return false;
+    }
+  }
+
+  private void apply(String payload) {
+    String[] parts = payload.split(":", 3);
+    if (parts.length != 3 || nodeId.equals(parts[1])) {
+      return;
+    }
+    cache.invalidate();
+    remoteInvalidations.increment();
+    try {
+      long lagMillis = System.currentTimeMillis() - Long.parseLong(parts[2]);
+      // Clock skew between nodes can make the lag negative; record it as zero.
+      propagationLag.record(Duration.ofMillis(Math.max(0, lagMillis)));
+    } catch (NumberFormatException e) {
+      log.debug("Ignoring malformed timestamp in note invalidation '{}'", payload);
+    }
+  }
+
+  private void closeListenConnection() {
+    Connection connection = listenConnection;
+    listenConnection = null;
+    closeQuietly(connection);
+  }
+
+  private static void closeQuietly(Connection connection) {
+    if (connection != null) {
+      try {
+        connection.close();
+      } catch (SQLException ignored) {
+        // already broken
+      }
+    }
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
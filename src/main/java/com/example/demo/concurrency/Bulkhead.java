@@ -0,0 +1,31 @@
+package com.example.demo.concurrency;
+
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/** Caps how many container threads one kind of traffic can hold, rejecting the excess instead of queueing. */
+public class Bulkhead {
+
+  private final String name;
+  private final Semaphore permits;
+
+  public Bulkhead(String name, int maxConcurrent) {
+    this.name = name;
+    this.permits = new Semaphore(maxConcurrent);
+  }
+
+  public <T> T call(Supplier<T> work) {
+    if (!permits.tryAcquire()) {
+      throw new BulkheadFullException(name);
+    }
+    try {
+      return work.get();
+    } finally {
+      permits.release();
+    }
+  }
+
+  public int availablePermits() {
+    return permits.availablePermits();
+  }
+}
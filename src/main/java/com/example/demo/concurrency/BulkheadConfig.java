@@ -0,0 +1,34 @@
+package com.example.demo.concurrency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/** Reads run on a bounded pool and writes are capped on container threads, so neither can starve echo. */
+@Configuration
+public class BulkheadConfig {
+
+  // Not a default candidate, so Boot still creates applicationTaskExecutor for @Async and MVC async
+  // handling, and only injection points qualified with "notesReadExecutor" get this pool.
+  @Bean(defaultCandidate = false)
+  public ThreadPoolTaskExecutor notesReadExecutor(
+    @Value("${notes.read.pool-size:8}") int poolSize,
+    @Value("${notes.read.queue-capacity:64}") int queueCapacity
+  ) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(poolSize);
+    executor.setMaxPoolSize(poolSize);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix("notes-read-");
+    // Carries the current observation over, so repository spans stay children of the HTTP request.
+    executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+    return executor;
+  }
+
+  @Bean
+  public Bulkhead notesWriteBulkhead(@Value("${notes.write.max-concurrent:16}") int maxConcurrent) {
+    return new Bulkhead("notes-write", maxConcurrent);
+  }
+}
@@ -0,0 +1,16 @@
+package com.example.demo.concurrency;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/** Stackless: a full bulkhead is an expected overload signal, not a bug to trace. */
+public class BulkheadFullException extends RejectedExecutionException {
+
+  public BulkheadFullException(String bulkhead) {
+    super("Bulkhead '" + bulkhead + "' is full");
+  }
+
+  @Override
+  public synchronized Throwable fillInStackTrace() {
+    return this;
+  }
+}
@@ -0,0 +1,41 @@
+package com.example.demo.config;
+
+import com.example.demo.error.PreValidationInterceptor;
+import com.example.demo.tracing.ResponseWriteObservations;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+  private final ResponseWriteObservations responseWriteObservations;
+
+  public WebConfig(ResponseWriteObservations responseWriteObservations) {
+    this.responseWriteObservations = responseWriteObservations;
+  }
+
+  // Built from Boot's builder so spring.jackson.* and customizers apply to CBOR exactly as to JSON.
+  public static ObjectMapper cborMapper(Jackson2ObjectMapperBuilder jacksonBuilder) {
+    return jacksonBuilder.factory(new CBORFactory()).build();
+  }
+
+  // Boot's HttpMessageConverters places this bean ahead of Spring MVC's default CBOR converter,
+  // which sits after the JSON one, so JSON stays the default for Accept: */*; service-to-service
+  // callers opt in with Accept / Content-Type: application/cbor.
+  @Bean
+  public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder jacksonBuilder) {
+    return new MappingJackson2CborHttpMessageConverter(cborMapper(jacksonBuilder));
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(new PreValidationInterceptor());
+    registry.addInterceptor(responseWriteObservations);
+  }
+}
@@ -0,0 +1,51 @@
+package com.example.demo.error;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/** Cached, pre-serialized {@code {"error": ..., "message": ...}} bodies. */
+public final class ErrorBodies {
+
+  private static final ObjectMapper JSON = new ObjectMapper();
+
+  // Messages come from constraint metadata, so the set is small; the cap guards against surprises.
+  private static final int MAX_CACHED = 256;
+  private static final ConcurrentMap<String, byte[]> CACHE = new ConcurrentHashMap<>();
+
+  private ErrorBodies() {}
+
+  public static ResponseEntity<byte[]> response(HttpStatusCode status, String error, String message) {
+    return ResponseEntity.status(status)
+      .contentType(MediaType.APPLICATION_JSON)
+      .body(body(error, message));
+  }
+
+  public static byte[] body(String error, String message) {
+    String key = error + '\0' + message;
+    byte[] cached = CACHE.get(key);
+    if (cached != null) {
+      return cached;
+    }
+    byte[] serialized = serialize(error, message);
+    if (CACHE.size() < MAX_CACHED) {
+      CACHE.putIfAbsent(key, serialized);
+    }
+    return serialized;
+  }
+
+  private static byte[] serialize(String error, String message) {
+    try {
+      return JSON.writeValueAsBytes(Map.of("error", error, "message", message));
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
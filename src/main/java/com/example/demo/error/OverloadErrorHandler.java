@@ -0,0 +1,24 @@
+package com.example.demo.error;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+/** Maps bulkhead rejections and async timeouts to 503, so callers back off instead of piling on. */
+@ControllerAdvice
+public class OverloadErrorHandler {
+
+  @ExceptionHandler(RejectedExecutionException.class)
+  public ResponseEntity<byte[]> handleRejected(RejectedExecutionException ex) {
+    return ErrorBodies.response(HttpStatus.SERVICE_UNAVAILABLE, "overloaded", "capacity exhausted, retry later");
+  }
+
+  @ExceptionHandler(TimeoutException.class)
+  public ResponseEntity<byte[]> handleTimeout(TimeoutException ex) {
+    return ErrorBodies.response(HttpStatus.SERVICE_UNAVAILABLE, "timeout", "request timed out, retry later");
+  }
+}
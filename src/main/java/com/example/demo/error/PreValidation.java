@@ -0,0 +1,25 @@
+package com.example.demo.error;
+
+import jakarta.validation.constraints.NotBlank;
+
+import java.lang.reflect.AnnotatedElement;
+
+/** Mirrors Hibernate Validator's {@code @NotBlank}, so the fast path never rejects what it would accept. */
+final class PreValidation {
+
+  static final String NOT_BLANK_MESSAGE = "must not be blank";
+
+  private PreValidation() {}
+
+  // Only the default message/groups are pre-checked; anything customised is left to bean validation.
+  static boolean isPlainNotBlank(AnnotatedElement element) {
+    NotBlank notBlank = element.getAnnotation(NotBlank.class);
+    return notBlank != null
+      && notBlank.groups().length == 0
+      && "{jakarta.validation.constraints.NotBlank.message}".equals(notBlank.message());
+  }
+
+  static boolean isBlank(CharSequence value) {
+    return value == null || value.toString().trim().isEmpty();
+  }
+}
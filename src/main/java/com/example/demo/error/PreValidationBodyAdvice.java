@@ -0,0 +1,63 @@
+package com.example.demo.error;
+
+import jakarta.validation.Valid;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Rejects blank {@code @NotBlank} components of {@code @Valid @RequestBody} records before bean validation. */
+@ControllerAdvice
+public class PreValidationBodyAdvice extends RequestBodyAdviceAdapter {
+
+  private static final Method[] NONE = new Method[0];
+
+  private static final ClassValue<Method[]> NOT_BLANK_ACCESSORS = new ClassValue<>() {
+    @Override
+    protected Method[] computeValue(Class<?> type) {
+      if (!type.isRecord()) {
+        return NONE;
+      }
+      List<Method> accessors = new ArrayList<>();
+      for (RecordComponent component : type.getRecordComponents()) {
+        Method accessor = component.getAccessor();
+        if (component.getType() == String.class && PreValidation.isPlainNotBlank(accessor)) {
+          accessors.add(accessor);
+        }
+      }
+      return accessors.toArray(Method[]::new);
+    }
+  };
+
+  @Override
+  public boolean supports(MethodParameter parameter, Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+    return parameter.hasParameterAnnotation(Valid.class)
+      && NOT_BLANK_ACCESSORS.get(parameter.getParameterType()).length > 0;
+  }
+
+  @Override
+  public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+                              Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+    for (Method accessor : NOT_BLANK_ACCESSORS.get(body.getClass())) {
+      if (PreValidation.isBlank((String) invoke(accessor, body))) {
+        throw new RejectedInputException(accessor.getName(), PreValidation.NOT_BLANK_MESSAGE);
+      }
+    }
+    return body;
+  }
+
+  private static Object invoke(Method accessor, Object target) {
+    try {
+      return accessor.invoke(target);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Cannot read " + accessor, e);
+    }
+  }
+}
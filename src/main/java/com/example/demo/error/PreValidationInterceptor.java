@@ -0,0 +1,50 @@
+package com.example.demo.error;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ValueConstants;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** Rejects a single blank {@code @RequestParam @NotBlank} value before method validation runs. */
+public class PreValidationInterceptor implements HandlerInterceptor {
+
+  private final Map<Method, String[]> notBlankParams = new ConcurrentHashMap<>();
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+    if (!(handler instanceof HandlerMethod handlerMethod)) {
+      return true;
+    }
+    for (String name : notBlankParams.computeIfAbsent(handlerMethod.getMethod(), PreValidationInterceptor::scan)) {
+      String[] values = request.getParameterValues(name);
+      if (values != null && values.length == 1 && PreValidation.isBlank(values[0])) {
+        throw new RejectedInputException(name, PreValidation.NOT_BLANK_MESSAGE);
+      }
+    }
+    return true;
+  }
+
+  private static String[] scan(Method method) {
+    List<String> names = new ArrayList<>();
+    for (Parameter parameter : method.getParameters()) {
+      // Merged lookup so @RequestParam("q") resolves its value() alias into name().
+      RequestParam requestParam = AnnotatedElementUtils.findMergedAnnotation(parameter, RequestParam.class);
+      // With a default, Spring binds it in place of an empty value, so bean validation may accept it.
+      if (requestParam != null && ValueConstants.DEFAULT_NONE.equals(requestParam.defaultValue())
+        && parameter.getType() == String.class && PreValidation.isPlainNotBlank(parameter)) {
+        names.add(requestParam.name().isEmpty() ? parameter.getName() : requestParam.name());
+      }
+    }
+    return names.toArray(String[]::new);
+  }
+}
@@ -0,0 +1,28 @@
+package com.example.demo.error;
+
+/** Stackless pre-validation rejection; the response body comes from {@link ErrorBodies}. */
+public class RejectedInputException extends RuntimeException {
+
+  private final String field;
+  private final String constraintMessage;
+
+  public RejectedInputException(String field, String constraintMessage) {
+    super(null, null, false, false);
+    this.field = field;
+    this.constraintMessage = constraintMessage;
+  }
+
+  public String field() {
+    return field;
+  }
+
+  public String constraintMessage() {
+    return constraintMessage;
+  }
+
+  // Built lazily: the hot path never needs the formatted message.
+  @Override
+  public String getMessage() {
+    return field + ": " + constraintMessage;
+  }
+}
@@ -3,20 +3,36 @@ package com.example.demo.error;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
-import java.util.Map;
-
 @ControllerAdvice
 public class ValidationErrorHandler {
 
+  private static final String VALIDATION_ERROR = "validation_error";
+
+  @ExceptionHandler(RejectedInputException.class)
+  public ResponseEntity<byte[]> handleRejectedInput(RejectedInputException ex) {
+    return badRequest(ex.field() + ": " + ex.constraintMessage());
+  }
+
   @ExceptionHandler(ConstraintViolationException.class)
-  public ResponseEntity<Map<String, Object>> handleConstraintViolation(ConstraintViolationException ex) {
-    return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-      .body(Map.of(
-        "error", "validation_error",
-        "message", ex.getMessage()
-      ));
+  public ResponseEntity<byte[]> handleConstraintViolation(ConstraintViolationException ex) {
+    return badRequest(ex.getMessage());
+  }
+
+  @ExceptionHandler(MethodArgumentNotValidException.class)
+  public ResponseEntity<byte[]> handleMethodArgumentNotValid(MethodArgumentNotValidException ex) {
+    FieldError fieldError = ex.getBindingResult().getFieldError();
+    String message = fieldError == null
+      ? ex.getBindingResult().getObjectName() + ": invalid"
+      : fieldError.getField() + ": " + fieldError.getDefaultMessage();
+    return badRequest(message);
+  }
+
+  private static ResponseEntity<byte[]> badRequest(String message) {
+    return ErrorBodies.response(HttpStatus.BAD_REQUEST, VALIDATION_ERROR, message);
   }
 }
@@ -0,0 +1,86 @@
+package com.example.demo.id;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Hi/lo ids: one {@code nextval('note_id_blocks')} reserves {@code blockSize} ids, handed out from memory. */
+public class BlockSequenceIdGenerator implements IdGenerator {
+
+  static final String SEQUENCE = "note_id_blocks";
+
+  private record Block(AtomicLong next, long limit) {}
+
+  private final JdbcTemplate jdbc;
+  private final long blockSize;
+  private final Object refillLock = new Object();
+  private volatile Block block;
+  private boolean skippedExistingIds;
+
+  public BlockSequenceIdGenerator(JdbcTemplate jdbc, int blockSize) {
+    if (blockSize < 1) {
+      throw new IllegalArgumentException("blockSize must be positive, was " + blockSize);
+    }
+    this.jdbc = jdbc;
+    this.blockSize = blockSize;
+  }
+
+  @Override
+  public long nextId() {
+    while (true) {
+      Block current = block;
+      if (current != null) {
+        long id = current.next().getAndIncrement();
+        if (id < current.limit()) {
+          return id;
+        }
+      }
+      synchronized (refillLock) {
+        if (block == current) {
+          block = allocate();
+        }
+      }
+    }
+  }
+
+  private Block allocate() {
+    long hi = reserveHi();
+    if (!skippedExistingIds) {
+      // Tables filled by bigserial (or another generator) before the switch may already hold ids
+      // in the first blocks. Skip past them once, whatever the gap, in a fixed number of round trips.
+      Long maxId = jdbc.queryForObject("select max(id) from notes", Long.class);
+      if (maxId != null) {
+        hi = skipPast(hi, maxId);
+      }
+      skippedExistingIds = true;
+    }
+    long start = hi * blockSize;
+    return new Block(new AtomicLong(start), start + blockSize);
+  }
+
+  private long skipPast(long hi, long maxId) {
+    long minHi = maxId / blockSize + 1;
+    if (minHi > (Long.MAX_VALUE - blockSize) / blockSize) {
+      throw new IllegalStateException("max(id) " + maxId + " is beyond what blocks of " + blockSize + " ids can reach");
+    }
+    while (hi < minHi) {
+      // One nextval that jumps the whole gap. Other nodes calling nextval meanwhile still get unique
+      // values; if one of them resets the increment first, the loop simply jumps again.
+      jdbc.execute("alter sequence " + SEQUENCE + " increment by " + (minHi - hi));
+      try {
+        hi = reserveHi();
+      } finally {
+        jdbc.execute("alter sequence " + SEQUENCE + " increment by 1");
+      }
+    }
+    return hi;
+  }
+
+  private long reserveHi() {
+    Long hi = jdbc.queryForObject("select nextval('" + SEQUENCE + "')", Long.class);
+    if (hi == null) {
+      throw new IllegalStateException("nextval('" + SEQUENCE + "') returned null");
+    }
+    return hi;
+  }
+}
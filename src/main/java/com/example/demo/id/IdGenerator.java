@@ -0,0 +1,7 @@
+package com.example.demo.id;
+
+/** Application-assigned note ids; they must increase so {@code order by id} keeps creation order. */
+public interface IdGenerator {
+
+  long nextId();
+}
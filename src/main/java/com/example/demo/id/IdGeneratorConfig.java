@@ -0,0 +1,25 @@
+package com.example.demo.id;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/** {@code notes.id.generator=database|block|time}; once data exists, only switching to {@code time} is safe. */
+@Configuration
+public class IdGeneratorConfig {
+
+  @Bean
+  @ConditionalOnProperty(name = "notes.id.generator", havingValue = "block")
+  public IdGenerator blockSequenceIdGenerator(JdbcTemplate jdbc, @Value("${notes.id.block-size:1000}") int blockSize) {
+    return new BlockSequenceIdGenerator(jdbc, blockSize);
+  }
+
+  // No default node id: replicas sharing one would issue duplicate ids.
+  @Bean
+  @ConditionalOnProperty(name = "notes.id.generator", havingValue = "time")
+  public IdGenerator timeOrderedIdGenerator(@Value("${notes.id.node-id}") int nodeId) {
+    return new SnowflakeIdGenerator(nodeId);
+  }
+}
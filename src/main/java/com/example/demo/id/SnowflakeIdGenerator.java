@@ -0,0 +1,90 @@
+package com.example.demo.id;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Time-ordered ids carrying their shard; at most {@value #MAX_DRIFT_MILLIS} ms ahead of the clock.
+ *
+ * <pre>
+ * [ sign ][ millis since epoch ][ node id ][ sequence ][ shard ]
+ *    1             41               6          10         6
+ * </pre>
+ */
+public class SnowflakeIdGenerator implements IdGenerator {
+
+  public static final Instant EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+
+  static final int SHARD_BITS = 6;
+  static final int SEQUENCE_BITS = 10;
+  static final int NODE_BITS = 6;
+
+  public static final int MAX_SHARDS = 1 << SHARD_BITS;
+  public static final int MAX_NODES = 1 << NODE_BITS;
+
+  static final long MAX_DRIFT_MILLIS = 1;
+
+  private static final int SEQUENCE_SHIFT = SHARD_BITS;
+  private static final int NODE_SHIFT = SHARD_BITS + SEQUENCE_BITS;
+  private static final int TIME_SHIFT = SHARD_BITS + SEQUENCE_BITS + NODE_BITS;
+  private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+  private final long epochMillis = EPOCH.toEpochMilli();
+  private final long nodeBits;
+
+  // (millis since epoch << SEQUENCE_BITS) | sequence, advanced with a single CAS per id.
+  private final AtomicLong lastTick = new AtomicLong();
+
+  public SnowflakeIdGenerator(int nodeId) {
+    if (nodeId < 0 || nodeId >= MAX_NODES) {
+      throw new IllegalArgumentException("nodeId must be in [0, " + MAX_NODES + "), was " + nodeId);
+    }
+    this.nodeBits = (long) nodeId << NODE_SHIFT;
+  }
+
+  /** Unsharded id; the shard bits are zero. */
+  @Override
+  public long nextId() {
+    return nextId(0);
+  }
+
+  public long nextId(int shard) {
+    if (shard < 0 || shard >= MAX_SHARDS) {
+      throw new IllegalArgumentException("shard must be in [0, " + MAX_SHARDS + "), was " + shard);
+    }
+    long tick = nextTick();
+    long millis = tick >>> SEQUENCE_BITS;
+    long sequence = tick & SEQUENCE_MASK;
+    return (millis << TIME_SHIFT) | nodeBits | (sequence << SEQUENCE_SHIFT) | shard;
+  }
+
+  private long nextTick() {
+    while (true) {
+      long nowMillis = System.currentTimeMillis() - epochMillis;
+      long now = nowMillis << SEQUENCE_BITS;
+      long last = lastTick.get();
+      // Same millisecond (or the clock stepped back): take the next sequence after the last one.
+      long next = now > last ? now : last + 1;
+      if ((next >>> SEQUENCE_BITS) - nowMillis > MAX_DRIFT_MILLIS) {
+        LockSupport.parkNanos(50_000);
+        continue;
+      }
+      if (lastTick.compareAndSet(last, next)) {
+        return next;
+      }
+    }
+  }
+
+  public static int shardOf(long id) {
+    return (int) (id & (MAX_SHARDS - 1));
+  }
+
+  public static int nodeOf(long id) {
+    return (int) ((id >>> NODE_SHIFT) & (MAX_NODES - 1));
+  }
+
+  public static Instant timestampOf(long id) {
+    return EPOCH.plusMillis(id >>> TIME_SHIFT);
+  }
+}
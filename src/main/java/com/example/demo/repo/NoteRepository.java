@@ -1,32 +1,145 @@
 package com.example.demo.repo;
 
+import com.example.demo.cache.NoteCache;
+import com.example.demo.cache.NoteChangedEvent;
+import com.example.demo.id.IdGenerator;
 import com.example.demo.model.Note;
+import com.example.demo.shard.NoteShards;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.RowMapperResultSetExtractor;
 import org.springframework.stereotype.Repository;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Repository
 public class NoteRepository {
 
+  private static final String INSERT_WITH_ID = "insert into notes(id, body) values (?, ?)";
+  private static final String FIND_ALL = "select id, body from notes order by id";
+
   private final JdbcTemplate jdbc;
+  private final ApplicationEventPublisher events;
+  private final NoteCache cache;
+  private final NoteShards shards;
+  private final IdGenerator ids;
+  private final ObservationRegistry observations;
+  private final int readQueryTimeoutSeconds;
 
   private final RowMapper<Note> mapper = (rs, rowNum) -> new Note(
     rs.getLong("id"),
     rs.getString("body")
   );
 
-  public NoteRepository(JdbcTemplate jdbc) {
+  public NoteRepository(
+    JdbcTemplate jdbc,
+    ApplicationEventPublisher events,
+    ObjectProvider<NoteCache> cache,
+    ObjectProvider<NoteShards> shards,
+    ObjectProvider<IdGenerator> ids,
+    ObjectProvider<ObservationRegistry> observations,
+    @Value("${notes.read.timeout:5s}") Duration readTimeout
+  ) {
     this.jdbc = jdbc;
+    this.events = events;
+    this.cache = cache.getIfAvailable();
+    this.shards = shards.getIfAvailable();
+    this.ids = ids.getIfAvailable();
+    this.observations = observations.getIfAvailable(() -> ObservationRegistry.NOOP);
+    // JDBC timeouts are whole seconds; round up so the statement never gives up before the request.
+    this.readQueryTimeoutSeconds = (int) Math.max(1, (readTimeout.toMillis() + 999) / 1000);
   }
 
   public Note create(String body) {
+    Note note = Observation.createNotStarted("notes.repo.create", observations).observe(() -> {
+      if (shards == null && ids == null) {
+        return insertReturningId(body);
+      }
+      Note assigned = new Note(nextId(), body);
+      targetFor(assigned.id()).update(INSERT_WITH_ID, assigned.id(), assigned.body());
+      return assigned;
+    });
+    events.publishEvent(new NoteChangedEvent(note.id()));
+    return note;
+  }
+
+  /** One JDBC batch per target database and one cache invalidation per call. */
+  public List<Note> createAll(List<String> bodies) {
+    List<Note> notes = Observation.createNotStarted("notes.repo.create-all", observations).observe(() -> {
+      if (shards == null && ids == null) {
+        return bodies.stream().map(this::insertReturningId).toList();
+      }
+      List<Note> assigned = new ArrayList<>(bodies.size());
+      Map<JdbcTemplate, List<Object[]>> batches = new LinkedHashMap<>();
+      for (String body : bodies) {
+        Note note = new Note(nextId(), body);
+        assigned.add(note);
+        batches.computeIfAbsent(targetFor(note.id()), db -> new ArrayList<>()).add(new Object[] {note.id(), note.body()});
+      }
+      batches.forEach((db, rows) -> db.batchUpdate(INSERT_WITH_ID, rows));
+      return assigned;
+    });
+    if (!notes.isEmpty()) {
+      events.publishEvent(new NoteChangedEvent(notes.get(notes.size() - 1).id()));
+    }
+    return notes;
+  }
+
+  private Note insertReturningId(String body) {
     Long id = jdbc.queryForObject("insert into notes(body) values (?) returning id", Long.class, body);
     return new Note(id == null ? 0L : id, body);
   }
 
+  private long nextId() {
+    return shards != null ? shards.nextId() : ids.nextId();
+  }
+
+  // With sharding the id picks the shard, so the row lands on exactly one database.
+  private JdbcTemplate targetFor(long id) {
+    return shards != null ? shards.shardFor(id) : jdbc;
+  }
+
   public List<Note> findAll() {
-    return jdbc.query("select id, body from notes order by id", mapper);
+    return cache == null ? queryAll() : cache.getOrLoad(this::queryAll);
+  }
+
+  private List<Note> queryAll() {
+    return Observation.createNotStarted("notes.repo.find-all", observations).observe(() ->
+      shards == null ? queryAll(jdbc) : shards.queryOrdered(this::queryAll, Comparator.comparingLong(Note::id)));
+  }
+
+  // The statement timeout bounds the query itself: the request's orTimeout alone would leave the
+  // notes-read thread stuck on a slow database and keep the read pool full. notes.repo.query covers
+  // statement execution only; the connection checkout happens before the callback and row mapping after.
+  private List<Note> queryAll(JdbcTemplate db) {
+    return db.execute(con -> {
+      PreparedStatement statement = con.prepareStatement(FIND_ALL);
+      statement.setQueryTimeout(readQueryTimeoutSeconds);
+      return statement;
+    }, (PreparedStatement statement) -> {
+      try (ResultSet rs = Observation.createNotStarted("notes.repo.query", observations)
+          .observeChecked(() -> statement.executeQuery())) {
+        return mapRows(rs);
+      }
+    });
+  }
+
+  // Runs once the query has executed, so this observation isolates row mapping from query time.
+  private List<Note> mapRows(ResultSet rs) throws SQLException {
+    return Observation.createNotStarted("notes.repo.map-rows", observations)
+      .observeChecked(() -> new RowMapperResultSetExtractor<>(mapper).extractData(rs));
   }
 }
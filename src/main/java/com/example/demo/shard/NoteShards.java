@@ -0,0 +1,113 @@
+package com.example.demo.shard;
+
+import com.example.demo.id.SnowflakeIdGenerator;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/** Every id encodes its shard, so writes touch one shard; reads fan out and merge by id. */
+public class NoteShards implements AutoCloseable {
+
+  private final List<DataSource> dataSources;
+  private final List<JdbcTemplate> shards;
+  private final SnowflakeIdGenerator ids;
+  private final ThreadPoolTaskExecutor fanOut;
+  private final AtomicInteger nextShard = new AtomicInteger();
+
+  public NoteShards(List<DataSource> dataSources, SnowflakeIdGenerator ids) {
+    if (dataSources.isEmpty() || dataSources.size() > SnowflakeIdGenerator.MAX_SHARDS) {
+      throw new IllegalArgumentException("Need 1.." + SnowflakeIdGenerator.MAX_SHARDS + " shards, got " + dataSources.size());
+    }
+    this.dataSources = List.copyOf(dataSources);
+    this.shards = this.dataSources.stream().map(JdbcTemplate::new).toList();
+    this.ids = ids;
+    this.fanOut = new ThreadPoolTaskExecutor();
+    fanOut.setCorePoolSize(shards.size());
+    fanOut.setMaxPoolSize(shards.size());
+    fanOut.setThreadNamePrefix("notes-shard-");
+    fanOut.setTaskDecorator(new ContextPropagatingTaskDecorator());
+    fanOut.initialize();
+  }
+
+  /** Applies {@code schema.sql} to every shard. */
+  public void initializeSchema() {
+    ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource("schema.sql"));
+    dataSources.forEach(ds -> DatabasePopulatorUtils.execute(populator, ds));
+  }
+
+  public int size() {
+    return shards.size();
+  }
+
+  /** Issues an id for a new row, spreading writes round-robin across shards. */
+  public long nextId() {
+    return ids.nextId(Math.floorMod(nextShard.getAndIncrement(), shards.size()));
+  }
+
+  public JdbcTemplate shardFor(long id) {
+    return shards.get(SnowflakeIdGenerator.shardOf(id));
+  }
+
+  public JdbcTemplate shard(int index) {
+    return shards.get(index);
+  }
+
+  /** Each shard's result must already be sorted by {@code order}. */
+  public <T> List<T> queryOrdered(Function<JdbcTemplate, List<T>> query, Comparator<? super T> order) {
+    List<CompletableFuture<List<T>>> perShard = shards.stream()
+      .map(shard -> CompletableFuture.supplyAsync(() -> query.apply(shard), fanOut))
+      .toList();
+    List<List<T>> results = perShard.stream().map(CompletableFuture::join).toList();
+    return merge(results, order);
+  }
+
+  static <T> List<T> merge(List<List<T>> sortedLists, Comparator<? super T> order) {
+    if (sortedLists.size() == 1) {
+      return sortedLists.get(0);
+    }
+    record Cursor<T>(List<T> list, int index) {
+      T head() {
+        return list.get(index);
+      }
+    }
+    PriorityQueue<Cursor<T>> heads = new PriorityQueue<>(sortedLists.size(), Comparator.comparing(Cursor::head, order));
+    int total = 0;
+    for (List<T> list : sortedLists) {
+      total += list.size();
+      if (!list.isEmpty()) {
+        heads.add(new Cursor<>(list, 0));
+      }
+    }
+    List<T> merged = new ArrayList<>(total);
+    while (!heads.isEmpty()) {
+      Cursor<T> cursor = heads.poll();
+      merged.add(cursor.head());
+      if (cursor.index() + 1 < cursor.list().size()) {
+        heads.add(new Cursor<>(cursor.list(), cursor.index() + 1));
+      }
+    }
+    return merged;
+  }
+
+  @Override
+  public void close() throws Exception {
+    fanOut.shutdown();
+    for (DataSource dataSource : dataSources) {
+      if (dataSource.isWrapperFor(AutoCloseable.class)) {
+        dataSource.unwrap(AutoCloseable.class).close();
+      }
+    }
+  }
+}
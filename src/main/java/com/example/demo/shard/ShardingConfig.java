@@ -0,0 +1,44 @@
+package com.example.demo.shard;
+
+import com.example.demo.id.SnowflakeIdGenerator;
+import com.example.demo.tracing.ObservedDataSource;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.function.SingletonSupplier;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * {@code notes.sharding.urls} order is part of the id scheme: never reorder or remove urls.
+ * {@code notes.id.node-id} has no default, because two replicas sharing one would issue the same ids.
+ */
+@Configuration
+@ConditionalOnProperty(name = "notes.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+  @Bean
+  public NoteShards noteShards(
+    @Value("${notes.sharding.urls}") List<String> urls,
+    @Value("${notes.sharding.username:}") String username,
+    @Value("${notes.sharding.password:}") String password,
+    @Value("${notes.id.node-id}") int nodeId,
+    ObjectProvider<ObservationRegistry> observations
+  ) {
+    SingletonSupplier<ObservationRegistry> registry =
+      SingletonSupplier.of(() -> observations.getIfAvailable(() -> ObservationRegistry.NOOP));
+    List<DataSource> dataSources = urls.stream()
+      .map(url -> (DataSource) new ObservedDataSource(
+        DataSourceBuilder.create().url(url).username(username).password(password).build(),
+        registry))
+      .toList();
+    NoteShards shards = new NoteShards(dataSources, new SnowflakeIdGenerator(nodeId));
+    shards.initializeSchema();
+    return shards;
+  }
+}
@@ -0,0 +1,35 @@
+package com.example.demo.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Supplier;
+
+/** Records how long callers wait for a pooled connection as a {@value #CONNECTION} observation. */
+public class ObservedDataSource extends DelegatingDataSource {
+
+  public static final String CONNECTION = "notes.db.connection";
+
+  private final Supplier<ObservationRegistry> observations;
+
+  public ObservedDataSource(DataSource target, Supplier<ObservationRegistry> observations) {
+    super(target);
+    this.observations = observations;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return Observation.createNotStarted(CONNECTION, observations.get())
+      .observeChecked(() -> obtainTargetDataSource().getConnection());
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return Observation.createNotStarted(CONNECTION, observations.get())
+      .observeChecked(() -> obtainTargetDataSource().getConnection(username, password));
+  }
+}
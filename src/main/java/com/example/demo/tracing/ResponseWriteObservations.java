@@ -0,0 +1,62 @@
+package com.example.demo.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/** Times body serialization as {@value #WRITE}; register it as both an interceptor and an advice. */
+@ControllerAdvice
+public class ResponseWriteObservations implements ResponseBodyAdvice<Object>, HandlerInterceptor {
+
+  public static final String WRITE = "http.response.write";
+
+  private static final String ATTRIBUTE = ResponseWriteObservations.class.getName() + ".observation";
+
+  private final ObservationRegistry observations;
+
+  public ResponseWriteObservations(ObjectProvider<ObservationRegistry> observations) {
+    this.observations = observations.getIfAvailable(() -> ObservationRegistry.NOOP);
+  }
+
+  @Override
+  public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+    return true;
+  }
+
+  @Override
+  public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType contentType,
+                                Class<? extends HttpMessageConverter<?>> converterType,
+                                ServerHttpRequest request, ServerHttpResponse response) {
+    if (request instanceof ServletServerHttpRequest servletRequest) {
+      HttpServletRequest servlet = servletRequest.getServletRequest();
+      if (servlet.getAttribute(ATTRIBUTE) == null) {
+        servlet.setAttribute(ATTRIBUTE, Observation.createNotStarted(WRITE, observations)
+          .lowCardinalityKeyValue("content.type", contentType.getSubtype())
+          .start());
+      }
+    }
+    return body;
+  }
+
+  @Override
+  public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+    if (request.getAttribute(ATTRIBUTE) instanceof Observation observation) {
+      request.removeAttribute(ATTRIBUTE);
+      if (ex != null) {
+        observation.error(ex);
+      }
+      observation.stop();
+    }
+  }
+}
@@ -0,0 +1,103 @@
+package com.example.demo.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Logs requests over {@code notes.tracing.slow-request-threshold} with inclusive per-phase durations:
+ * {@code notes.repo.find-all} contains its connection wait, {@code notes.repo.query} and {@code notes.repo.map-rows}.
+ */
+@Component
+public class SlowRequestLogger implements ObservationHandler<Observation.Context> {
+
+  private static final Logger log = LoggerFactory.getLogger(SlowRequestLogger.class);
+
+  private final long thresholdNanos;
+
+  public SlowRequestLogger(@Value("${notes.tracing.slow-request-threshold:500ms}") Duration threshold) {
+    this.thresholdNanos = threshold.toNanos();
+  }
+
+  @Override
+  public boolean supportsContext(Observation.Context context) {
+    return true;
+  }
+
+  @Override
+  public void onStart(Observation.Context context) {
+    context.put(Started.class, new Started(System.nanoTime()));
+    if (context instanceof ServerRequestObservationContext) {
+      context.put(Breakdown.class, new Breakdown());
+    }
+  }
+
+  @Override
+  public void onStop(Observation.Context context) {
+    Started started = context.get(Started.class);
+    if (started == null) {
+      return;
+    }
+    long elapsed = System.nanoTime() - started.nanos();
+    if (context instanceof ServerRequestObservationContext server) {
+      if (elapsed >= thresholdNanos) {
+        log.warn("Slow request {} {} -> {} took {} ms {}",
+          server.getCarrier().getMethod(), server.getCarrier().getRequestURI(),
+          server.getResponse() == null ? "?" : server.getResponse().getStatus(),
+          millis(elapsed), context.get(Breakdown.class));
+      }
+      return;
+    }
+    Breakdown breakdown = enclosingBreakdown(context);
+    if (breakdown != null) {
+      breakdown.add(context.getName(), elapsed);
+    }
+  }
+
+  private static Breakdown enclosingBreakdown(Observation.ContextView context) {
+    ObservationView parent = context.getParentObservation();
+    while (parent != null) {
+      Observation.ContextView view = parent.getContextView();
+      Breakdown breakdown = view.get(Breakdown.class);
+      if (breakdown != null) {
+        return breakdown;
+      }
+      parent = view.getParentObservation();
+    }
+    return null;
+  }
+
+  private static String millis(long nanos) {
+    return String.format("%.1f", nanos / 1e6);
+  }
+
+  private record Started(long nanos) {}
+
+  // Phases may finish on other threads (e.g. the notes read pool), hence the synchronization.
+  private static final class Breakdown {
+    private final Map<String, Long> nanosByPhase = new LinkedHashMap<>();
+
+    synchronized void add(String phase, long nanos) {
+      nanosByPhase.merge(phase, nanos, Long::sum);
+    }
+
+    @Override
+    public synchronized String toString() {
+      StringBuilder sb = new StringBuilder("[");
+      nanosByPhase.forEach((phase, nanos) -> {
+        if (sb.length() > 1) sb.append(", ");
+        sb.append(phase).append('=').append(millis(nanos)).append("ms");
+      });
+      return sb.append(']').toString();
+    }
+  }
+}
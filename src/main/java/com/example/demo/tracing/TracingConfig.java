@@ -0,0 +1,38 @@
+package com.example.demo.tracing;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.function.SingletonSupplier;
+
+import javax.sql.DataSource;
+
+/** Set {@code notes.tracing.log-spans=true} to export sampled spans to the log. */
+@Configuration
+public class TracingConfig {
+
+  @Bean
+  static BeanPostProcessor observedDataSourcePostProcessor(ObjectProvider<ObservationRegistry> observations) {
+    SingletonSupplier<ObservationRegistry> registry =
+      SingletonSupplier.of(() -> observations.getIfAvailable(() -> ObservationRegistry.NOOP));
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ObservedDataSource)) {
+          return new ObservedDataSource(dataSource, registry);
+        }
+        return bean;
+      }
+    };
+  }
+
+  @Bean
+  @ConditionalOnProperty(name = "notes.tracing.log-spans", havingValue = "true")
+  LoggingSpanExporter loggingSpanExporter() {
+    return LoggingSpanExporter.create();
+  }
+}
@@ -2,3 +2,6 @@ create table if not exists notes (
   id bigserial primary key,
   body text not null
 );
+
+-- Block allocator for notes.id.generator=block; each value reserves notes.id.block-size ids.
+create sequence if not exists note_id_blocks;
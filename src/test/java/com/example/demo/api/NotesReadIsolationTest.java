@@ -0,0 +1,115 @@
+package com.example.demo.api;
+
+import com.example.demo.model.Note;
+import com.example.demo.repo.NoteRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationContext;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Saturates the note read pool with list queries that block until the echo probes are done, and
+ * checks that echo latency stays low.
+ * Tomcat gets fewer threads than there are in-flight list requests, so without async reads the
+ * echo probes would queue behind them.
+ */
+@SpringBootTest(
+  webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+  properties = {
+    "server.tomcat.threads.max=4",
+    "server.tomcat.threads.min-spare=4",
+    "notes.read.pool-size=2",
+    "notes.read.queue-capacity=32",
+    "notes.read.timeout=30s"
+  }
+)
+class NotesReadIsolationTest {
+
+  private static final int SLOW_LISTS = 12;
+  private static final int ECHO_PROBES = 100;
+  private static final long ECHO_P99_BUDGET_MILLIS = 250;
+
+  @LocalServerPort
+  int port;
+
+  @MockitoBean
+  NoteRepository noteRepository;
+
+  @Autowired
+  @Qualifier("notesReadExecutor")
+  ThreadPoolTaskExecutor notesReadExecutor;
+
+  @Autowired
+  ApplicationContext context;
+
+  private final HttpClient http = HttpClient.newHttpClient();
+
+  @Test
+  void echoP99_staysLow_whileListQueriesSaturateReadPool() throws Exception {
+    CountDownLatch probesDone = new CountDownLatch(1);
+    when(noteRepository.findAll()).thenAnswer(inv -> {
+      assertTrue(probesDone.await(30, TimeUnit.SECONDS), "list query was never released");
+      return List.of(new Note(1L, "slow"));
+    });
+
+    List<CompletableFuture<HttpResponse<String>>> lists = new ArrayList<>();
+    for (int i = 0; i < SLOW_LISTS; i++) {
+      lists.add(http.sendAsync(request("/api/notes"), HttpResponse.BodyHandlers.ofString()));
+    }
+    awaitSaturated();
+
+    long[] latencies = new long[ECHO_PROBES];
+    for (int i = 0; i < ECHO_PROBES; i++) {
+      long start = System.nanoTime();
+      HttpResponse<String> echo = http.send(request("/api/echo?q=ping"), HttpResponse.BodyHandlers.ofString());
+      latencies[i] = (System.nanoTime() - start) / 1_000_000;
+      assertEquals(200, echo.statusCode());
+    }
+    assertTrue(notesReadExecutor.getQueueSize() > 0, "list queries should still be queued after the echo probes");
+    probesDone.countDown();
+
+    Arrays.sort(latencies);
+    long p99 = latencies[(int) Math.ceil(ECHO_PROBES * 0.99) - 1];
+    assertTrue(p99 < ECHO_P99_BUDGET_MILLIS, "echo p99 was " + p99 + " ms");
+
+    for (CompletableFuture<HttpResponse<String>> list : lists) {
+      assertEquals(200, list.get().statusCode());
+    }
+  }
+
+  @Test
+  void readPool_doesNotReplaceBootsApplicationTaskExecutor() {
+    assertTrue(context.containsBean("applicationTaskExecutor"));
+  }
+
+  private void awaitSaturated() throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (notesReadExecutor.getActiveCount() < notesReadExecutor.getMaxPoolSize()
+      || notesReadExecutor.getQueueSize() == 0) {
+      assertTrue(System.currentTimeMillis() < deadline, "read pool never saturated");
+      Thread.sleep(5);
+    }
+  }
+
+  private HttpRequest request(String path) {
+    return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build();
+  }
+}
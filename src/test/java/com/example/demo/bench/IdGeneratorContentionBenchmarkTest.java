@@ -0,0 +1,97 @@
+package com.example.demo.bench;
+
+import com.example.demo.id.BlockSequenceIdGenerator;
+import com.example.demo.id.IdGenerator;
+import com.example.demo.id.SnowflakeIdGenerator;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Id allocation throughput under thread contention. The per-id {@code nextval} round trip stands
+ * in for what a {@code bigserial} insert pays today. The time-ordered generator is capped by the
+ * clock at 1024 ids per millisecond per node, so its figure is a ceiling on the format, not on CAS
+ * contention. Run with {@code mvn test -DRUN_BENCHMARKS=true}.
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "RUN_BENCHMARKS", matches = "true")
+class IdGeneratorContentionBenchmarkTest {
+
+  private static final int IDS_PER_THREAD = 20_000;
+
+  static HikariDataSource dataSource;
+  static JdbcTemplate jdbc;
+
+  @BeforeAll
+  static void startDatabase() {
+    dataSource = DataSourceBuilder.create()
+      .type(HikariDataSource.class)
+      .url("jdbc:h2:mem:id_bench;MODE=PostgreSQL;DB_CLOSE_DELAY=-1")
+      .username("sa")
+      .build();
+    dataSource.setMaximumPoolSize(64);
+    DatabasePopulatorUtils.execute(new ResourceDatabasePopulator(new ClassPathResource("schema.sql")), dataSource);
+    jdbc = new JdbcTemplate(dataSource);
+  }
+
+  @AfterAll
+  static void stopDatabase() {
+    dataSource.close();
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 4, 16, 64})
+  void allocationThroughput(int threads) throws Exception {
+    Map<String, IdGenerator> generators = new LinkedHashMap<>();
+    generators.put("nextval per id", () -> jdbc.queryForObject("select nextval('note_id_blocks')", Long.class));
+    generators.put("block(1000)", new BlockSequenceIdGenerator(jdbc, 1_000));
+    generators.put("time-ordered", new SnowflakeIdGenerator(0));
+
+    for (Map.Entry<String, IdGenerator> generator : generators.entrySet()) {
+      run(generator.getValue(), threads, IDS_PER_THREAD / 10);
+      double rate = run(generator.getValue(), threads, IDS_PER_THREAD);
+      System.out.printf("[id-alloc] %-15s %2d thread(s): %,.0f ids/s%n", generator.getKey(), threads, rate);
+    }
+  }
+
+  private static double run(IdGenerator ids, int threads, int idsPerThread) throws InterruptedException {
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    for (int t = 0; t < threads; t++) {
+      pool.execute(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+        for (int i = 0; i < idsPerThread; i++) {
+          ids.nextId();
+        }
+      });
+    }
+    long begin = System.nanoTime();
+    start.countDown();
+    pool.shutdown();
+    assertTrue(pool.awaitTermination(5, TimeUnit.MINUTES));
+    return (double) threads * idsPerThread / ((System.nanoTime() - begin) / 1e9);
+  }
+}
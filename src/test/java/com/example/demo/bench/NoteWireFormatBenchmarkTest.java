@@ -0,0 +1,81 @@
+package com.example.demo.bench;
+
+import com.example.demo.api.NoteResponse;
+import com.example.demo.config.WebConfig;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares payload size and encode/decode throughput of the JSON and CBOR wire formats
+ * for a {@code GET /api/notes} sized list. Run with {@code mvn test -DRUN_BENCHMARKS=true}.
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "RUN_BENCHMARKS", matches = "true")
+@JsonTest
+class NoteWireFormatBenchmarkTest {
+
+  private static final int NOTES = 1_000;
+  private static final int WARMUP_ROUNDS = 200;
+  private static final int MEASURED_ROUNDS = 1_000;
+  private static final TypeReference<List<NoteResponse>> NOTE_LIST = new TypeReference<>() {};
+
+  private final List<NoteResponse> notes = LongStream.rangeClosed(1, NOTES)
+    .mapToObj(id -> new NoteResponse(id, "note body #" + id + " Привет 😀"))
+    .toList();
+
+  // The same mappers the JSON and CBOR message converters use.
+  @Autowired
+  ObjectMapper json;
+
+  @Autowired
+  Jackson2ObjectMapperBuilder jacksonBuilder;
+
+  @Test
+  void cborIsSmallerAndRoundTrips() throws Exception {
+    ObjectMapper cbor = WebConfig.cborMapper(jacksonBuilder);
+
+    byte[] jsonBytes = json.writeValueAsBytes(notes);
+    byte[] cborBytes = cbor.writeValueAsBytes(notes);
+
+    assertEquals(notes, cbor.readValue(cborBytes, NOTE_LIST));
+    assertTrue(cborBytes.length < jsonBytes.length, "CBOR payload should be smaller than JSON");
+
+    report("json", jsonBytes.length, json, jsonBytes);
+    report("cbor", cborBytes.length, cbor, cborBytes);
+  }
+
+  private void report(String format, int payloadBytes, ObjectMapper mapper, byte[] payload) throws Exception {
+    for (int i = 0; i < WARMUP_ROUNDS; i++) {
+      mapper.writeValueAsBytes(notes);
+      mapper.readValue(payload, NOTE_LIST);
+    }
+
+    long start = System.nanoTime();
+    for (int i = 0; i < MEASURED_ROUNDS; i++) {
+      mapper.writeValueAsBytes(notes);
+    }
+    long encodeNanos = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    for (int i = 0; i < MEASURED_ROUNDS; i++) {
+      mapper.readValue(payload, NOTE_LIST);
+    }
+    long decodeNanos = System.nanoTime() - start;
+
+    System.out.printf("[wire-format] %s: %d bytes per %d notes, encode %.0f lists/s, decode %.0f lists/s%n",
+      format, payloadBytes, NOTES,
+      MEASURED_ROUNDS / (encodeNanos / 1e9),
+      MEASURED_ROUNDS / (decodeNanos / 1e9));
+  }
+}
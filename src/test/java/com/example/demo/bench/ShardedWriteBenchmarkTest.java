@@ -0,0 +1,77 @@
+package com.example.demo.bench;
+
+import com.example.demo.id.SnowflakeIdGenerator;
+import com.example.demo.shard.NoteShards;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Insert throughput as the shard count grows, with a fixed number of writer threads and a fixed
+ * total number of connections split evenly across the shards. Each shard is a separate in-memory
+ * H2 database, so this measures how well the layer spreads contention, not real Postgres
+ * throughput. Run with {@code mvn test -DRUN_BENCHMARKS=true}.
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "RUN_BENCHMARKS", matches = "true")
+class ShardedWriteBenchmarkTest {
+
+  private static final int WRITERS = 16;
+  private static final int WRITES_PER_WRITER = 2_000;
+  private static final int WARMUP_WRITES_PER_WRITER = 500;
+  private static final int TOTAL_CONNECTIONS = 16;
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 2, 4, 8})
+  void insertThroughput(int shardCount) throws Exception {
+    List<DataSource> dataSources = IntStream.range(0, shardCount)
+      .mapToObj(i -> {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+          .type(HikariDataSource.class)
+          .url("jdbc:h2:mem:bench" + shardCount + "_" + i + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1")
+          .username("sa")
+          .build();
+        dataSource.setMaximumPoolSize(TOTAL_CONNECTIONS / shardCount);
+        return (DataSource) dataSource;
+      })
+      .toList();
+
+    try (NoteShards shards = new NoteShards(dataSources, new SnowflakeIdGenerator(0))) {
+      shards.initializeSchema();
+
+      writeRound(shards, WARMUP_WRITES_PER_WRITER);
+      long elapsed = writeRound(shards, WRITES_PER_WRITER);
+
+      int total = WRITERS * WRITES_PER_WRITER;
+      System.out.printf("[sharding] %d shard(s): %.0f inserts/s%n", shardCount, total / (elapsed / 1e9));
+    }
+  }
+
+  private static long writeRound(NoteShards shards, int writesPerWriter) throws InterruptedException {
+    ExecutorService writers = Executors.newFixedThreadPool(WRITERS);
+    long start = System.nanoTime();
+    for (int w = 0; w < WRITERS; w++) {
+      writers.execute(() -> {
+        for (int i = 0; i < writesPerWriter; i++) {
+          long id = shards.nextId();
+          shards.shardFor(id).update("insert into notes(id, body) values (?, ?)", id, "bench");
+        }
+      });
+    }
+    writers.shutdown();
+    assertTrue(writers.awaitTermination(5, TimeUnit.MINUTES));
+    return System.nanoTime() - start;
+  }
+}
@@ -0,0 +1,55 @@
+package com.example.demo.bench;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Requests per second for rejected input on {@code /api/echo} and {@code /api/notes}, with a valid
+ * echo as the baseline. Run with {@code mvn test -DRUN_BENCHMARKS=true}.
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "RUN_BENCHMARKS", matches = "true")
+@SpringBootTest
+@AutoConfigureMockMvc
+class ValidationRejectionBenchmarkTest {
+
+  private static final int WARMUP_REQUESTS = 5_000;
+  private static final int MEASURED_REQUESTS = 20_000;
+
+  @Autowired
+  MockMvc mvc;
+
+  @Test
+  void invalidInputThroughput() throws Exception {
+    report("echo valid", get("/api/echo").queryParam("q", "hello"), 200);
+    report("echo blank q", get("/api/echo").queryParam("q", " "), 400);
+    report("notes blank body", post("/api/notes")
+      .contentType(MediaType.APPLICATION_JSON)
+      .content("{\"body\":\" \"}"), 400);
+  }
+
+  private void report(String scenario, RequestBuilder request, int expectedStatus) throws Exception {
+    for (int i = 0; i < WARMUP_REQUESTS; i++) {
+      mvc.perform(request);
+    }
+
+    long start = System.nanoTime();
+    for (int i = 0; i < MEASURED_REQUESTS; i++) {
+      assertEquals(expectedStatus, mvc.perform(request).andReturn().getResponse().getStatus());
+    }
+    long elapsed = System.nanoTime() - start;
+
+    System.out.printf("[validation] %s: %.0f req/s%n", scenario, MEASURED_REQUESTS / (elapsed / 1e9));
+  }
+}
@@ -0,0 +1,109 @@
+package com.example.demo.cache;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.model.Note;
+import com.example.demo.repo.NoteRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two application contexts share one Postgres database, as two replicas behind a load balancer
+ * would. The cache staleness bound is set far beyond the test duration, so only the
+ * LISTEN/NOTIFY bus can explain a node picking up another node's write.
+ */
+@Tag("docker")
+@EnabledIfSystemProperty(named = "RUN_DOCKER_TESTS", matches = "true")
+@Testcontainers
+class NoteCacheCoherenceTest {
+
+  private static final DockerImageName POSTGRES_IMAGE = DockerImageName
+    .parse("public.ecr.aws/docker/library/postgres:16-alpine")
+    .asCompatibleSubstituteFor("postgres");
+
+  @Container
+  static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(POSTGRES_IMAGE)
+    .withDatabaseName("testdb")
+    .withUsername("test")
+    .withPassword("test");
+
+  static ConfigurableApplicationContext nodeA;
+  static ConfigurableApplicationContext nodeB;
+
+  @BeforeAll
+  static void startNodes() {
+    nodeA = startNode();
+    nodeB = startNode();
+  }
+
+  @AfterAll
+  static void stopNodes() {
+    if (nodeA != null) nodeA.close();
+    if (nodeB != null) nodeB.close();
+  }
+
+  // Command-line arguments outrank the H2 defaults in the test application.properties.
+  private static ConfigurableApplicationContext startNode() {
+    return new SpringApplicationBuilder(DemoApplication.class)
+      .web(WebApplicationType.NONE)
+      .run(
+        "--spring.datasource.url=" + postgres.getJdbcUrl(),
+        "--spring.datasource.username=" + postgres.getUsername(),
+        "--spring.datasource.password=" + postgres.getPassword(),
+        "--spring.sql.init.mode=always",
+        "--notes.cache.enabled=true",
+        "--notes.cache.max-staleness=1h"
+      );
+  }
+
+  @Test
+  void writeOnOneNode_invalidatesOtherNodesCache() throws InterruptedException {
+    NoteRepository repoA = nodeA.getBean(NoteRepository.class);
+    NoteRepository repoB = nodeB.getBean(NoteRepository.class);
+
+    repoB.findAll();
+    Note created = repoA.create("written on node A");
+
+    assertTrue(eventuallyContains(repoB, created.id(), 5_000), "node B should observe node A's write");
+
+    Timer lag = nodeB.getBean(MeterRegistry.class).get("notes.cache.invalidation.lag").timer();
+    assertTrue(lag.count() >= 1);
+    assertTrue(lag.max(TimeUnit.MILLISECONDS) < 5_000);
+  }
+
+  @Test
+  void writeOnNode_invalidatesOwnCacheImmediately() {
+    NoteRepository repoA = nodeA.getBean(NoteRepository.class);
+
+    repoA.findAll();
+    Note created = repoA.create("visible locally");
+
+    assertTrue(repoA.findAll().stream().anyMatch(n -> n.id() == created.id()));
+  }
+
+  private static boolean eventuallyContains(NoteRepository repo, long id, long timeoutMillis) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + timeoutMillis;
+    while (System.currentTimeMillis() < deadline) {
+      if (repo.findAll().stream().anyMatch(n -> n.id() == id)) {
+        return true;
+      }
+      Thread.sleep(20);
+    }
+    return false;
+  }
+}
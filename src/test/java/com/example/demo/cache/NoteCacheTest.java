@@ -0,0 +1,68 @@
+package com.example.demo.cache;
+
+import com.example.demo.model.Note;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NoteCacheTest {
+
+  private final AtomicInteger loads = new AtomicInteger();
+
+  private List<Note> load() {
+    int n = loads.incrementAndGet();
+    return List.of(new Note(n, "load " + n));
+  }
+
+  @Test
+  void getOrLoad_servesCachedValueUntilInvalidated() {
+    NoteCache cache = new NoteCache(Duration.ofHours(1));
+
+    assertEquals("load 1", cache.getOrLoad(this::load).get(0).body());
+    assertEquals("load 1", cache.getOrLoad(this::load).get(0).body());
+    assertEquals(1, loads.get());
+
+    cache.onNoteChanged(new NoteChangedEvent(1L));
+
+    assertEquals("load 2", cache.getOrLoad(this::load).get(0).body());
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void getOrLoad_reloadsAfterMaxStaleness() throws InterruptedException {
+    NoteCache cache = new NoteCache(Duration.ofMillis(20));
+
+    cache.getOrLoad(this::load);
+    Thread.sleep(50);
+    cache.getOrLoad(this::load);
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void invalidationDuringLoad_isNotOverwrittenByStaleResult() {
+    NoteCache cache = new NoteCache(Duration.ofHours(1));
+
+    List<Note> stale = cache.getOrLoad(() -> {
+      cache.invalidate();
+      return List.of(new Note(1L, "stale"));
+    });
+    List<Note> fresh = cache.getOrLoad(this::load);
+
+    assertEquals("stale", stale.get(0).body());
+    assertEquals("load 1", fresh.get(0).body());
+  }
+
+  @Test
+  void getOrLoad_returnsImmutableSnapshot() {
+    NoteCache cache = new NoteCache(Duration.ofHours(1));
+
+    List<Note> notes = cache.getOrLoad(this::load);
+
+    assertThrows(UnsupportedOperationException.class, () -> notes.add(new Note(9L, "nope")));
+  }
+}
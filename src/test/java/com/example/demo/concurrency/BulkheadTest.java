@@ -0,0 +1,64 @@
+package com.example.demo.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadTest {
+
+  @Test
+  void call_returnsResultAndReleasesPermit() {
+    Bulkhead bulkhead = new Bulkhead("test", 1);
+
+    assertEquals("ok", bulkhead.call(() -> "ok"));
+    assertEquals(1, bulkhead.availablePermits());
+  }
+
+  @Test
+  void call_releasesPermitWhenWorkThrows() {
+    Bulkhead bulkhead = new Bulkhead("test", 1);
+
+    assertThrows(IllegalStateException.class, () -> bulkhead.call(() -> {
+      throw new IllegalStateException("boom");
+    }));
+    assertEquals(1, bulkhead.availablePermits());
+  }
+
+  @Test
+  void call_rejectsWhenFull() throws Exception {
+    Bulkhead bulkhead = new Bulkhead("test", 1);
+    CountDownLatch holding = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService pool = Executors.newSingleThreadExecutor();
+    try {
+      Future<String> holder = pool.submit(() -> bulkhead.call(() -> {
+        holding.countDown();
+        await(release);
+        return "held";
+      }));
+      assertTrue(holding.await(5, TimeUnit.SECONDS));
+
+      BulkheadFullException ex = assertThrows(BulkheadFullException.class, () -> bulkhead.call(() -> "rejected"));
+      assertEquals(0, ex.getStackTrace().length);
+
+      release.countDown();
+      assertEquals("held", holder.get(5, TimeUnit.SECONDS));
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,124 @@
+package com.example.demo.id;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlockSequenceIdGeneratorTest {
+
+  private SingleConnectionDataSource dataSource;
+  private JdbcTemplate jdbc;
+
+  @BeforeEach
+  void setUp() {
+    dataSource = new SingleConnectionDataSource("jdbc:h2:mem:block_ids;MODE=PostgreSQL", "sa", "", true);
+    DatabasePopulatorUtils.execute(new ResourceDatabasePopulator(new ClassPathResource("schema.sql")), dataSource);
+    jdbc = new JdbcTemplate(dataSource);
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbc.execute("drop all objects");
+    dataSource.destroy();
+  }
+
+  @Test
+  void nextId_handsOutWholeBlockPerSequenceCall() {
+    BlockSequenceIdGenerator ids = new BlockSequenceIdGenerator(jdbc, 10);
+
+    long first = ids.nextId();
+    for (int i = 1; i < 10; i++) {
+      assertEquals(first + i, ids.nextId());
+    }
+    long sequenceBefore = currentBlock();
+    ids.nextId();
+
+    assertEquals(sequenceBefore + 1, currentBlock(), "the 11th id should reserve exactly one new block");
+  }
+
+  @Test
+  void nextId_skipsIdsAlreadyUsedByBigserial() {
+    jdbc.update("insert into notes(id, body) values (?, ?)", 2_345L, "legacy");
+
+    long id = new BlockSequenceIdGenerator(jdbc, 1_000).nextId();
+
+    assertTrue(id > 2_345, "got " + id);
+  }
+
+  @Test
+  void nextId_skipsTimeOrderedIdsInFewRoundTrips() {
+    long timeOrderedId = new SnowflakeIdGenerator(0).nextId();
+    jdbc.update("insert into notes(id, body) values (?, ?)", timeOrderedId, "legacy");
+    BlockSequenceIdGenerator ids = new BlockSequenceIdGenerator(jdbc, 1_000);
+
+    long first = ids.nextId();
+    assertTrue(first > timeOrderedId, "got " + first);
+
+    // The increment is back to 1, so the next block is the very next sequence value.
+    long sequenceBefore = currentBlock();
+    for (int i = 0; i < 1_000; i++) {
+      ids.nextId();
+    }
+    assertEquals(sequenceBefore + 1, currentBlock());
+  }
+
+  @Test
+  void nextId_failsFastWhenExistingIdsAreOutOfReach() {
+    jdbc.update("insert into notes(id, body) values (?, ?)", Long.MAX_VALUE - 10, "legacy");
+
+    assertThrows(IllegalStateException.class, () -> new BlockSequenceIdGenerator(jdbc, 1_000).nextId());
+  }
+
+  @Test
+  void separateGenerators_neverOverlap() {
+    BlockSequenceIdGenerator nodeA = new BlockSequenceIdGenerator(jdbc, 5);
+    BlockSequenceIdGenerator nodeB = new BlockSequenceIdGenerator(jdbc, 5);
+    Set<Long> seen = ConcurrentHashMap.newKeySet();
+
+    for (int i = 0; i < 50; i++) {
+      assertTrue(seen.add(nodeA.nextId()));
+      assertTrue(seen.add(nodeB.nextId()));
+    }
+  }
+
+  @Test
+  void nextId_uniqueAndIncreasingPerThreadUnderContention() throws InterruptedException {
+    BlockSequenceIdGenerator ids = new BlockSequenceIdGenerator(jdbc, 100);
+    Set<Long> seen = ConcurrentHashMap.newKeySet();
+    ExecutorService pool = Executors.newFixedThreadPool(8);
+    for (int t = 0; t < 8; t++) {
+      pool.execute(() -> {
+        long previous = 0;
+        for (int i = 0; i < 2_000; i++) {
+          long id = ids.nextId();
+          assertTrue(id > previous);
+          previous = id;
+          seen.add(id);
+        }
+      });
+    }
+    pool.shutdown();
+    assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+    assertEquals(16_000, seen.size());
+  }
+
+  private long currentBlock() {
+    return jdbc.queryForObject(
+      "select base_value - increment from information_schema.sequences where sequence_name = upper(?)",
+      Long.class, BlockSequenceIdGenerator.SEQUENCE);
+  }
+}
@@ -0,0 +1,87 @@
+package com.example.demo.id;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeIdGeneratorTest {
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, 7, SnowflakeIdGenerator.MAX_SHARDS - 1})
+  void nextId_encodesShard(int shard) {
+    long id = new SnowflakeIdGenerator(3).nextId(shard);
+
+    assertEquals(shard, SnowflakeIdGenerator.shardOf(id));
+    assertEquals(3, SnowflakeIdGenerator.nodeOf(id));
+    assertTrue(id > 0);
+  }
+
+  @Test
+  void nextId_encodesCurrentTime() {
+    Instant before = Instant.now().minusMillis(1);
+    long id = new SnowflakeIdGenerator(0).nextId(0);
+
+    Instant timestamp = SnowflakeIdGenerator.timestampOf(id);
+    assertFalse(timestamp.isBefore(before));
+    assertTrue(Duration.between(before, timestamp).toMillis() < 1_000);
+  }
+
+  @Test
+  void nextId_neverRunsAheadOfTheClockByMoreThanTheDriftBound() {
+    SnowflakeIdGenerator ids = new SnowflakeIdGenerator(0);
+
+    // Far more than 1024 ids per millisecond, so the generator has to borrow and then wait.
+    for (int i = 0; i < 20_000; i++) {
+      long id = ids.nextId();
+      long aheadMillis = SnowflakeIdGenerator.timestampOf(id).toEpochMilli() - System.currentTimeMillis();
+      assertTrue(aheadMillis <= SnowflakeIdGenerator.MAX_DRIFT_MILLIS, "id " + i + " ran " + aheadMillis + " ms ahead");
+    }
+  }
+
+  @Test
+  void nextId_strictlyIncreasesAcrossShards() {
+    SnowflakeIdGenerator ids = new SnowflakeIdGenerator(0);
+
+    long previous = 0;
+    for (int i = 0; i < 10_000; i++) {
+      long id = ids.nextId(SnowflakeIdGenerator.MAX_SHARDS - 1 - (i % SnowflakeIdGenerator.MAX_SHARDS));
+      assertTrue(id > previous, "id " + i + " did not increase");
+      previous = id;
+    }
+  }
+
+  @Test
+  void nextId_uniqueAcrossThreads() throws InterruptedException {
+    SnowflakeIdGenerator ids = new SnowflakeIdGenerator(0);
+    Set<Long> seen = ConcurrentHashMap.newKeySet();
+    ExecutorService pool = Executors.newFixedThreadPool(8);
+    for (int t = 0; t < 8; t++) {
+      int shard = t;
+      pool.execute(() -> {
+        for (int i = 0; i < 5_000; i++) {
+          seen.add(ids.nextId(shard));
+        }
+      });
+    }
+    pool.shutdown();
+    assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+    assertEquals(40_000, seen.size());
+  }
+
+  @Test
+  void rejectsOutOfRangeNodeAndShard() {
+    assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODES));
+    assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(0).nextId(-1));
+  }
+}
@@ -0,0 +1,162 @@
+package com.example.demo.profiling;
+
+import com.example.demo.api.NotesController;
+import com.example.demo.repo.NoteRepository;
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Allocation and GC budgets for the hot paths, measured with JFR. Budgets live in
+ * {@code allocation-budgets.properties}. Row-dependent scenarios run at two table sizes and are
+ * budgeted in bytes per row, so fixed MockMvc and dispatch cost cancels out. Each run attaches its
+ * JFR summary and raw recording to the Allure report. Run with {@code mvn test -DRUN_PROFILING=true}.
+ */
+@Tag("profiling")
+@EnabledIfSystemProperty(named = "RUN_PROFILING", matches = "true")
+@SpringBootTest
+@AutoConfigureMockMvc
+class HotPathAllocationProfilingTest {
+
+  private static final int SMALL_TABLE = 1_000;
+  private static final int LARGE_TABLE = 5_000;
+  private static final int WARMUP_OPERATIONS = 300;
+  private static final int MEASURED_OPERATIONS = 300;
+
+  static Properties budgets = new Properties();
+
+  @Autowired
+  MockMvc mvc;
+
+  @Autowired
+  NotesController controller;
+
+  @Autowired
+  NoteRepository repo;
+
+  @Autowired
+  JdbcTemplate jdbc;
+
+  @BeforeAll
+  static void loadBudgets() throws IOException {
+    try (InputStream in = HotPathAllocationProfilingTest.class.getResourceAsStream("/allocation-budgets.properties")) {
+      budgets.load(in);
+    }
+  }
+
+  @BeforeEach
+  void cleanUp() {
+    jdbc.execute("TRUNCATE TABLE notes");
+  }
+
+  @Test
+  void echo_staysWithinBudget() throws Exception {
+    JfrAllocationProfiler.Result result = profile("echo", callerThread(), () ->
+      mvc.perform(get("/api/echo").queryParam("q", "hello")).andExpect(status().isOk()));
+
+    long budget = budget("echo.bytes-per-op");
+    assertTrue(result.bytesPerOperation() <= budget,
+      "echo allocated " + result.bytesPerOperation() + " bytes/op, budget " + budget);
+  }
+
+  @Test
+  void notesList_staysWithinBudget() throws Exception {
+    Predicate<String> callerOrReadPool = callerThread().or(name -> name.startsWith("notes-read-"));
+    assertPerRowWithinBudget("notes-list", callerOrReadPool, rows -> () -> {
+      MvcResult started = mvc.perform(get("/api/notes")).andExpect(request().asyncStarted()).andReturn();
+      mvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+    });
+  }
+
+  // Without JSON serialization in the way, the per-row NoteResponse mapping is most of the cost.
+  @Test
+  void controllerList_staysWithinBudget() throws Exception {
+    Predicate<String> callerOrReadPool = callerThread().or(name -> name.startsWith("notes-read-"));
+    assertPerRowWithinBudget("notes-controller-list", callerOrReadPool, rows -> () ->
+      assertEquals(rows, controller.list().join().size()));
+  }
+
+  @Test
+  void repositoryFindAll_staysWithinBudget() throws Exception {
+    assertPerRowWithinBudget("notes-find-all", callerThread(), rows -> () ->
+      assertEquals(rows, repo.findAll().size()));
+  }
+
+  private void assertPerRowWithinBudget(String scenario, Predicate<String> threads,
+                                        IntFunction<JfrAllocationProfiler.Scenario> op) throws Exception {
+    seedNotes(SMALL_TABLE);
+    JfrAllocationProfiler.Result small = profile(scenario + "@" + SMALL_TABLE, threads, op.apply(SMALL_TABLE));
+    seedNotes(LARGE_TABLE);
+    JfrAllocationProfiler.Result large = profile(scenario + "@" + LARGE_TABLE, threads, op.apply(LARGE_TABLE));
+
+    long bytesPerRow = (large.bytesPerOperation() - small.bytesPerOperation()) / (LARGE_TABLE - SMALL_TABLE);
+    System.out.printf("%s: %d bytes/row%n", scenario, bytesPerRow);
+    Allure.addAttachment("Bytes per row: " + scenario, "text/plain", bytesPerRow + " bytes/row");
+
+    long budget = budget(scenario + ".bytes-per-row");
+    assertTrue(bytesPerRow <= budget, scenario + " allocated " + bytesPerRow + " bytes/row, budget " + budget);
+  }
+
+  private JfrAllocationProfiler.Result profile(String scenario, Predicate<String> threads, JfrAllocationProfiler.Scenario op) throws Exception {
+    for (int i = 0; i < WARMUP_OPERATIONS; i++) {
+      op.run();
+    }
+
+    JfrAllocationProfiler.Result result = JfrAllocationProfiler.profile(scenario, MEASURED_OPERATIONS, threads, op);
+
+    Allure.addAttachment("JFR summary: " + scenario, "text/plain", result.summary());
+    try (InputStream recording = Files.newInputStream(result.recording())) {
+      Allure.addAttachment("JFR recording: " + scenario, "application/octet-stream", recording, ".jfr");
+    }
+    Files.deleteIfExists(result.recording());
+    System.out.print(result.summary());
+
+    long pauseBudgetMillis = budget("gc.longest-pause-ms");
+    assertTrue(result.allocatedBytes() > 0, "no allocation recorded for " + scenario + "; is JFR available?");
+    assertTrue(result.longestGcPause().toMillis() <= pauseBudgetMillis,
+      scenario + " longest GC pause " + result.longestGcPause().toMillis() + " ms, budget " + pauseBudgetMillis);
+    return result;
+  }
+
+  private void seedNotes(int count) {
+    jdbc.execute("TRUNCATE TABLE notes");
+    List<Object[]> rows = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      rows.add(new Object[] {"seeded note body #" + i});
+    }
+    jdbc.batchUpdate("insert into notes(body) values (?)", rows);
+  }
+
+  private static long budget(String key) {
+    return Long.parseLong(budgets.getProperty(key));
+  }
+
+  private static Predicate<String> callerThread() {
+    String caller = Thread.currentThread().getName();
+    return caller::equals;
+  }
+}
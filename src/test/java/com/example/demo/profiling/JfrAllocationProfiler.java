@@ -0,0 +1,102 @@
+package com.example.demo.profiling;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Runs a scenario under an in-process JFR recording and reduces it to allocated bytes per
+ * operation and GC pauses.
+ *
+ * <p>Allocation comes from {@code jdk.ThreadAllocationStatistics}, which is emitted at the start
+ * and end of the recording, so it is exact per thread rather than sampled. Only threads that match
+ * {@code threads} are counted, so background pools (Hikari housekeeping, JFR itself) add no noise.
+ */
+final class JfrAllocationProfiler {
+
+  interface Scenario {
+    void run() throws Exception;
+  }
+
+  record Result(
+    String scenario,
+    int operations,
+    long allocatedBytes,
+    int gcCount,
+    Duration totalGcPause,
+    Duration longestGcPause,
+    Path recording
+  ) {
+    long bytesPerOperation() {
+      return allocatedBytes / operations;
+    }
+
+    String summary() {
+      return String.format(
+        "scenario: %s%noperations: %d%nallocated: %,d bytes (%,d bytes/op)%ngc: %d collection(s), total pause %d ms, longest pause %d ms%n",
+        scenario, operations, allocatedBytes, bytesPerOperation(), gcCount, totalGcPause.toMillis(), longestGcPause.toMillis());
+    }
+  }
+
+  private JfrAllocationProfiler() {}
+
+  static Result profile(String scenario, int operations, Predicate<String> threads, Scenario op) throws Exception {
+    Path file = Files.createTempFile("profile-" + scenario + "-", ".jfr");
+    try (Recording recording = new Recording()) {
+      recording.setName(scenario);
+      recording.enable("jdk.ThreadAllocationStatistics").with("period", "everyChunk");
+      recording.enable("jdk.GarbageCollection");
+      recording.start();
+      for (int i = 0; i < operations; i++) {
+        op.run();
+      }
+      recording.stop();
+      recording.dump(file);
+    }
+    return summarize(scenario, operations, threads, file);
+  }
+
+  private static Result summarize(String scenario, int operations, Predicate<String> threads, Path file) throws IOException {
+    Map<Long, long[]> firstAndLast = new HashMap<>();
+    int gcCount = 0;
+    Duration totalPause = Duration.ZERO;
+    Duration longestPause = Duration.ZERO;
+
+    List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+    for (RecordedEvent event : events) {
+      switch (event.getEventType().getName()) {
+        case "jdk.ThreadAllocationStatistics" -> {
+          RecordedThread thread = event.getThread("thread");
+          if (thread == null || thread.getJavaName() == null || !threads.test(thread.getJavaName())) {
+            continue;
+          }
+          long allocated = event.getLong("allocated");
+          firstAndLast.merge(thread.getJavaThreadId(), new long[] {allocated, allocated},
+            (seen, next) -> new long[] {Math.min(seen[0], allocated), Math.max(seen[1], allocated)});
+        }
+        case "jdk.GarbageCollection" -> {
+          gcCount++;
+          totalPause = totalPause.plus(event.getDuration("sumOfPauses"));
+          Duration longest = event.getDuration("longestPause");
+          if (longest.compareTo(longestPause) > 0) {
+            longestPause = longest;
+          }
+        }
+        default -> { }
+      }
+    }
+
+    long allocated = firstAndLast.values().stream().mapToLong(range -> range[1] - range[0]).sum();
+    return new Result(scenario, operations, allocated, gcCount, totalPause, longestPause, file);
+  }
+}
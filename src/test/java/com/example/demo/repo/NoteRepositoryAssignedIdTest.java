@@ -0,0 +1,69 @@
+package com.example.demo.repo;
+
+import com.example.demo.cache.NoteChangedEvent;
+import com.example.demo.id.BlockSequenceIdGenerator;
+import com.example.demo.id.IdGenerator;
+import com.example.demo.model.Note;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Application-assigned ids need no {@code RETURNING}, so this runs on the local H2 database. */
+@SpringBootTest(properties = {"notes.id.generator=block", "notes.id.block-size=50"})
+@RecordApplicationEvents
+class NoteRepositoryAssignedIdTest {
+
+  @Autowired
+  NoteRepository repo;
+
+  @Autowired
+  IdGenerator ids;
+
+  @Autowired
+  JdbcTemplate jdbc;
+
+  @Autowired
+  ApplicationEvents events;
+
+  @BeforeEach
+  void cleanUp() {
+    jdbc.execute("TRUNCATE TABLE notes");
+  }
+
+  @Test
+  void usesConfiguredGenerator() {
+    assertInstanceOf(BlockSequenceIdGenerator.class, ids);
+  }
+
+  @Test
+  void create_assignsIncreasingIds() {
+    Note a = repo.create("first");
+    Note b = repo.create("second");
+
+    assertTrue(a.id() < b.id());
+    assertEquals(List.of(a, b), repo.findAll());
+  }
+
+  @Test
+  void createAll_batchInsertsInOrder() {
+    List<Note> created = repo.createAll(List.of("one", "two", "three", "four"));
+
+    assertEquals(List.of("one", "two", "three", "four"), created.stream().map(Note::body).toList());
+    assertEquals(created, repo.findAll());
+  }
+
+  @Test
+  void createAll_publishesOneChangeEventPerBatch() {
+    repo.createAll(List.of("one", "two", "three", "four"));
+
+    assertEquals(1, events.stream(NoteChangedEvent.class).count());
+  }
+}
@@ -0,0 +1,66 @@
+package com.example.demo.repo;
+
+import com.example.demo.cache.NoteCache;
+import com.example.demo.id.IdGenerator;
+import com.example.demo.shard.NoteShards;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/** The list query carries its own timeout, so a slow database frees the read thread as well as the request. */
+class NoteRepositoryReadTimeoutTest {
+
+  @Test
+  void findAll_setsStatementTimeoutFromReadTimeout() throws Exception {
+    PreparedStatement statement = mockStatement();
+
+    assertTrue(repository(statement, Duration.ofMillis(2_500)).findAll().isEmpty());
+
+    verify(statement).setQueryTimeout(3);
+  }
+
+  @Test
+  void findAll_subSecondReadTimeout_usesOneSecond() throws Exception {
+    PreparedStatement statement = mockStatement();
+
+    assertTrue(repository(statement, Duration.ofMillis(100)).findAll().isEmpty());
+
+    verify(statement).setQueryTimeout(1);
+  }
+
+  private static PreparedStatement mockStatement() throws Exception {
+    PreparedStatement statement = mock(PreparedStatement.class);
+    ResultSet rows = mock(ResultSet.class);
+    when(statement.executeQuery()).thenReturn(rows);
+    return statement;
+  }
+
+  private static NoteRepository repository(PreparedStatement statement, Duration readTimeout) throws Exception {
+    Connection connection = mock(Connection.class);
+    when(connection.prepareStatement(anyString())).thenReturn(statement);
+    DataSource dataSource = mock(DataSource.class);
+    when(dataSource.getConnection()).thenReturn(connection);
+
+    StaticListableBeanFactory none = new StaticListableBeanFactory();
+    return new NoteRepository(
+      new JdbcTemplate(dataSource),
+      mock(ApplicationEventPublisher.class),
+      none.getBeanProvider(NoteCache.class),
+      none.getBeanProvider(NoteShards.class),
+      none.getBeanProvider(IdGenerator.class),
+      none.getBeanProvider(ObservationRegistry.class),
+      readTimeout);
+  }
+}
@@ -0,0 +1,97 @@
+package com.example.demo.shard;
+
+import com.example.demo.id.SnowflakeIdGenerator;
+import com.example.demo.model.Note;
+import com.example.demo.repo.NoteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Three in-memory H2 databases stand in for three Postgres shards. */
+@SpringBootTest(properties = {
+  "notes.sharding.enabled=true",
+  "notes.sharding.urls=jdbc:h2:mem:shard0;MODE=PostgreSQL;DB_CLOSE_DELAY=-1,"
+    + "jdbc:h2:mem:shard1;MODE=PostgreSQL;DB_CLOSE_DELAY=-1,"
+    + "jdbc:h2:mem:shard2;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+  "notes.sharding.username=sa",
+  "notes.id.node-id=5"
+})
+class ShardedNoteRepositoryTest {
+
+  @Autowired
+  NoteRepository repo;
+
+  @Autowired
+  NoteShards shards;
+
+  @BeforeEach
+  void cleanUp() {
+    for (int i = 0; i < shards.size(); i++) {
+      shards.shard(i).execute("TRUNCATE TABLE notes");
+    }
+  }
+
+  @Test
+  void create_spreadsWritesAcrossAllShards() {
+    for (int i = 0; i < 9; i++) {
+      repo.create("note " + i);
+    }
+
+    for (int i = 0; i < shards.size(); i++) {
+      assertEquals(3, shards.shard(i).queryForObject("select count(*) from notes", Integer.class), "shard " + i);
+    }
+  }
+
+  @Test
+  void create_storesNoteOnTheShardEncodedInItsId() {
+    Note note = repo.create("located by id");
+
+    int shard = SnowflakeIdGenerator.shardOf(note.id());
+    assertEquals("located by id", shards.shard(shard)
+      .queryForObject("select body from notes where id = ?", String.class, note.id()));
+  }
+
+  @Test
+  void findAll_mergesShardsInCreationOrder() {
+    List<Note> created = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      created.add(repo.create("note " + i));
+    }
+
+    List<Note> notes = repo.findAll();
+
+    assertEquals(created, notes);
+  }
+
+  @Test
+  void merge_interleavesSortedLists() {
+    List<Integer> merged = NoteShards.merge(
+      List.of(List.of(1, 4, 7), List.of(), List.of(2, 3, 8, 9), List.of(5, 6)),
+      Comparator.naturalOrder());
+
+    assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9), merged);
+  }
+
+  @Test
+  void create_stampsConfiguredNodeIdIntoIds() {
+    assertEquals(5, SnowflakeIdGenerator.nodeOf(repo.create("node").id()));
+  }
+
+  @Test
+  void startup_failsWithoutNodeId() {
+    new ApplicationContextRunner()
+      .withUserConfiguration(ShardingConfig.class)
+      .withPropertyValues("notes.sharding.enabled=true", "notes.sharding.urls=jdbc:h2:mem:no_node_id;DB_CLOSE_DELAY=-1")
+      .run(context -> assertThat(context).hasFailed()
+        .getFailure().rootCause().hasMessageContaining("notes.id.node-id"));
+  }
+}
@@ -0,0 +1,68 @@
+package com.example.demo.tracing;
+
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * With a zero threshold every request counts as slow, so the log shows the full phase breakdown
+ * of a real HTTP round trip, including the wait for and the phases on the notes read pool.
+ */
+@ExtendWith(OutputCaptureExtension.class)
+@SpringBootTest(
+  webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+  properties = "notes.tracing.slow-request-threshold=0ms"
+)
+class SlowRequestLoggerTest {
+
+  @LocalServerPort
+  int port;
+
+  @Autowired
+  JdbcTemplate jdbc;
+
+  @BeforeEach
+  void setup() {
+    RestAssured.baseURI = "http://localhost";
+    RestAssured.port = port;
+  }
+
+  @Test
+  void listNotes_logsPhaseBreakdown(CapturedOutput output) {
+    jdbc.update("insert into notes(body) values (?)", "traced");
+
+    given().get("/api/notes").then().statusCode(200);
+
+    // The request observation stops after the response is flushed, so the log line can trail it.
+    await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(output.getOut())
+      .contains("Slow request GET /api/notes -> 200")
+      .containsPattern("GET /api/notes -> 200 took [0-9.]+ ms \\[.*notes\\.repo\\.find-all=")
+      .containsPattern("GET /api/notes .*notes\\.read\\.queue-wait=")
+      .containsPattern("GET /api/notes .*notes\\.db\\.connection=")
+      .containsPattern("GET /api/notes .*notes\\.repo\\.query=")
+      .containsPattern("GET /api/notes .*notes\\.repo\\.map-rows=")
+      .containsPattern("GET /api/notes .*http\\.response\\.write="));
+  }
+
+  @Test
+  void echo_logsRequestWithoutRepositoryPhases(CapturedOutput output) {
+    given().queryParam("q", "hello").get("/api/echo").then().statusCode(200);
+
+    await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(output.getOut())
+      .contains("Slow request GET /api/echo -> 200")
+      .doesNotContainPattern("GET /api/echo .*notes\\.repo"));
+  }
+}
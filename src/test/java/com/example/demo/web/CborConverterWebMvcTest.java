@@ -0,0 +1,78 @@
+package com.example.demo.web;
+
+import com.example.demo.api.NoteResponse;
+import com.example.demo.api.NotesController;
+import com.example.demo.concurrency.BulkheadConfig;
+import com.example.demo.model.Note;
+import com.example.demo.repo.NoteRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/** A {@code spring.jackson.*} setting has to reach the CBOR wire format, not only JSON. */
+@WebMvcTest(
+  controllers = NotesController.class,
+  properties = "spring.jackson.mapper.sort-properties-alphabetically=true"
+)
+@Import(BulkheadConfig.class)
+class CborConverterWebMvcTest {
+
+  @Autowired
+  MockMvc mvc;
+
+  @Autowired
+  RequestMappingHandlerAdapter handlerAdapter;
+
+  @Autowired
+  MappingJackson2CborHttpMessageConverter cborConverter;
+
+  @MockitoBean
+  NoteRepository noteRepository;
+
+  @Test
+  void configuredCborConverter_isTheOneMvcPicksFirst() {
+    Object firstCbor = handlerAdapter.getMessageConverters().stream()
+      .filter(MappingJackson2CborHttpMessageConverter.class::isInstance)
+      .findFirst()
+      .orElseThrow();
+
+    assertSame(cborConverter, firstCbor);
+  }
+
+  @Test
+  void cborResponse_followsSpringJacksonProperties() throws Exception {
+    when(noteRepository.findAll()).thenReturn(List.of(new Note(1L, "hello")));
+
+    MvcResult started = mvc.perform(get("/api/notes").accept(MediaType.APPLICATION_CBOR))
+      .andExpect(request().asyncStarted())
+      .andReturn();
+    MvcResult result = mvc.perform(asyncDispatch(started))
+      .andExpect(status().isOk())
+      .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+      .andReturn();
+
+    // NoteResponse declares id before body; only the sorted mapper writes body first.
+    List<LinkedHashMap<String, Object>> notes = new CBORMapper()
+      .readValue(result.getResponse().getContentAsByteArray(), new TypeReference<>() {});
+    assertEquals(List.of("body", "id"), List.copyOf(notes.get(0).keySet()));
+  }
+}
@@ -1,6 +1,7 @@
 package com.example.demo.web;
 
 import com.example.demo.EchoController;
+import com.example.demo.error.RejectedInputException;
 import com.example.demo.error.ValidationErrorHandler;
 import com.example.demo.service.EchoService;
 import org.junit.jupiter.api.Test;
@@ -9,10 +10,12 @@ import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -54,6 +57,25 @@ class EchoControllerWebMvcTest {
       .andExpect(jsonPath("$.message").isString());
   }
 
+  @Test
+  void echo_blankQuery_rejectedBeforeMethodValidation() throws Exception {
+    mvc.perform(get("/api/echo").queryParam("q", " "))
+      .andExpect(status().isBadRequest())
+      .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+      .andExpect(jsonPath("$.error").value("validation_error"))
+      .andExpect(jsonPath("$.message").value("q: must not be blank"))
+      .andExpect(result -> assertInstanceOf(RejectedInputException.class, result.getResolvedException()));
+  }
+
+  @Test
+  void echo_repeatedQueryWithOneBlankValue_isNotRejected() throws Exception {
+    when(echoService.echo(" ,x")).thenReturn(" ,x");
+
+    mvc.perform(get("/api/echo").queryParam("q", " ", "x"))
+      .andExpect(status().isOk())
+      .andExpect(content().string(" ,x"));
+  }
+
   @Test
   void echo_missingQueryParam_returns400() throws Exception {
     mvc.perform(get("/api/echo"))
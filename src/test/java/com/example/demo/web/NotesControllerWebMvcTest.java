@@ -1,27 +1,41 @@
 package com.example.demo.web;
 
+import com.example.demo.api.CreateNoteRequest;
+import com.example.demo.api.NoteResponse;
 import com.example.demo.api.NotesController;
+import com.example.demo.concurrency.BulkheadConfig;
+import com.example.demo.error.RejectedInputException;
 import com.example.demo.model.Note;
 import com.example.demo.repo.NoteRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 
 import java.util.Collections;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(controllers = NotesController.class)
+@Import(BulkheadConfig.class)
 class NotesControllerWebMvcTest {
 
   @Autowired
@@ -30,6 +44,16 @@ class NotesControllerWebMvcTest {
   @MockitoBean
   NoteRepository noteRepository;
 
+  private final CBORMapper cbor = new CBORMapper();
+
+  // GET /api/notes completes on the read executor, so the response is only written on async dispatch.
+  private ResultActions performAsync(RequestBuilder builder) throws Exception {
+    MvcResult started = mvc.perform(builder)
+      .andExpect(request().asyncStarted())
+      .andReturn();
+    return mvc.perform(asyncDispatch(started));
+  }
+
   @Test
   void post_happyPath_returnsNoteJson() throws Exception {
     when(noteRepository.create("hello")).thenReturn(new Note(1L, "hello"));
@@ -54,6 +78,17 @@ class NotesControllerWebMvcTest {
     verifyNoInteractions(noteRepository);
   }
 
+  @Test
+  void post_blankBody_returnsValidationErrorBody() throws Exception {
+    mvc.perform(post("/api/notes")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"body\":\"  \"}"))
+      .andExpect(status().isBadRequest())
+      .andExpect(jsonPath("$.error").value("validation_error"))
+      .andExpect(jsonPath("$.message").value("body: must not be blank"))
+      .andExpect(result -> assertInstanceOf(RejectedInputException.class, result.getResolvedException()));
+  }
+
   @Test
   void post_nullBody_returns400() throws Exception {
     mvc.perform(post("/api/notes")
@@ -124,7 +159,7 @@ class NotesControllerWebMvcTest {
   void get_emptyList_returnsEmptyArray() throws Exception {
     when(noteRepository.findAll()).thenReturn(Collections.emptyList());
 
-    mvc.perform(get("/api/notes"))
+    performAsync(get("/api/notes"))
       .andExpect(status().isOk())
       .andExpect(content().json("[]"));
   }
@@ -136,7 +171,7 @@ class NotesControllerWebMvcTest {
       new Note(2L, "second")
     ));
 
-    mvc.perform(get("/api/notes"))
+    performAsync(get("/api/notes"))
       .andExpect(status().isOk())
       .andExpect(jsonPath("$.length()").value(2))
       .andExpect(jsonPath("$[0].id").value(1))
@@ -144,4 +179,54 @@ class NotesControllerWebMvcTest {
       .andExpect(jsonPath("$[1].id").value(2))
       .andExpect(jsonPath("$[1].body").value("second"));
   }
+
+  @Test
+  void get_acceptCbor_returnsCborArray() throws Exception {
+    when(noteRepository.findAll()).thenReturn(List.of(
+      new Note(1L, "first"),
+      new Note(2L, "second")
+    ));
+
+    MvcResult result = performAsync(get("/api/notes").accept(MediaType.APPLICATION_CBOR))
+      .andExpect(status().isOk())
+      .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+      .andReturn();
+
+    List<NoteResponse> notes = cbor.readValue(result.getResponse().getContentAsByteArray(), new TypeReference<>() {});
+    assertEquals(List.of(new NoteResponse(1L, "first"), new NoteResponse(2L, "second")), notes);
+  }
+
+  @Test
+  void get_acceptAny_defaultsToJson() throws Exception {
+    when(noteRepository.findAll()).thenReturn(List.of(new Note(1L, "first")));
+
+    performAsync(get("/api/notes").accept(MediaType.ALL))
+      .andExpect(status().isOk())
+      .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+  }
+
+  @Test
+  void post_cborBody_returnsCborNote() throws Exception {
+    when(noteRepository.create("hello")).thenReturn(new Note(1L, "hello"));
+
+    MvcResult result = mvc.perform(post("/api/notes")
+        .contentType(MediaType.APPLICATION_CBOR)
+        .accept(MediaType.APPLICATION_CBOR)
+        .content(cbor.writeValueAsBytes(new CreateNoteRequest("hello"))))
+      .andExpect(status().isOk())
+      .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+      .andReturn();
+
+    assertEquals(new NoteResponse(1L, "hello"), cbor.readValue(result.getResponse().getContentAsByteArray(), NoteResponse.class));
+  }
+
+  @Test
+  void post_blankCborBody_returns400() throws Exception {
+    mvc.perform(post("/api/notes")
+        .contentType(MediaType.APPLICATION_CBOR)
+        .content(cbor.writeValueAsBytes(new CreateNoteRequest(" "))))
+      .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(noteRepository);
+  }
 }
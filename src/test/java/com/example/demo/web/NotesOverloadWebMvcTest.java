@@ -0,0 +1,139 @@
+package com.example.demo.web;
+
+import com.example.demo.api.NotesController;
+import com.example.demo.concurrency.BulkheadConfig;
+import com.example.demo.concurrency.BulkheadFullException;
+import com.example.demo.model.Note;
+import com.example.demo.repo.NoteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Drives each overload path to its 503 with a read pool of one thread and no queue, a write bulkhead
+ * of one permit and a short read timeout. Repository calls block on a latch until the test releases
+ * them.
+ */
+@WebMvcTest(
+  controllers = NotesController.class,
+  properties = {
+    "notes.read.pool-size=1",
+    "notes.read.queue-capacity=0",
+    "notes.read.timeout=100ms",
+    "notes.write.max-concurrent=1"
+  }
+)
+@Import(BulkheadConfig.class)
+class NotesOverloadWebMvcTest {
+
+  @Autowired
+  MockMvc mvc;
+
+  @Autowired
+  @Qualifier("notesReadExecutor")
+  ThreadPoolTaskExecutor notesReadExecutor;
+
+  @MockitoBean
+  NoteRepository noteRepository;
+
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  @AfterEach
+  void releaseBlockedCalls() {
+    release.countDown();
+    // The context, and with it the single read thread, is shared with the next test.
+    await().atMost(5, TimeUnit.SECONDS).until(() -> notesReadExecutor.getActiveCount() == 0);
+  }
+
+  @Test
+  void list_readPoolFull_returns503Overloaded() throws Exception {
+    when(noteRepository.findAll()).thenAnswer(inv -> blockUntilReleased(List.of()));
+
+    mvc.perform(get("/api/notes"))
+      .andExpect(request().asyncStarted());
+    await().atMost(5, TimeUnit.SECONDS).until(() -> notesReadExecutor.getActiveCount() == 1);
+
+    mvc.perform(get("/api/notes"))
+      .andExpect(status().isServiceUnavailable())
+      .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+      .andExpect(jsonPath("$.error").value("overloaded"))
+      .andExpect(result -> assertInstanceOf(TaskRejectedException.class, result.getResolvedException()));
+  }
+
+  @Test
+  void list_slowerThanReadTimeout_returns503Timeout() throws Exception {
+    when(noteRepository.findAll()).thenAnswer(inv -> blockUntilReleased(List.of()));
+
+    MvcResult started = mvc.perform(get("/api/notes"))
+      .andExpect(request().asyncStarted())
+      .andReturn();
+
+    mvc.perform(asyncDispatch(started))
+      .andExpect(status().isServiceUnavailable())
+      .andExpect(jsonPath("$.error").value("timeout"))
+      .andExpect(result -> assertInstanceOf(TimeoutException.class, result.getResolvedException()));
+  }
+
+  @Test
+  void create_writeBulkheadFull_returns503Overloaded() throws Exception {
+    CountDownLatch entered = new CountDownLatch(1);
+    when(noteRepository.create("first")).thenAnswer(inv -> {
+      entered.countDown();
+      return blockUntilReleased(new Note(1L, "first"));
+    });
+
+    CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> postNote("first"));
+    assertTrue(entered.await(5, TimeUnit.SECONDS), "first write never reached the repository");
+
+    mvc.perform(post("/api/notes")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"body\":\"second\"}"))
+      .andExpect(status().isServiceUnavailable())
+      .andExpect(jsonPath("$.error").value("overloaded"))
+      .andExpect(result -> assertInstanceOf(BulkheadFullException.class, result.getResolvedException()));
+
+    release.countDown();
+    assertEquals(200, first.get(5, TimeUnit.SECONDS));
+  }
+
+  private <T> T blockUntilReleased(T result) throws InterruptedException {
+    assertTrue(release.await(10, TimeUnit.SECONDS), "blocked call was never released");
+    return result;
+  }
+
+  private int postNote(String body) {
+    try {
+      return mvc.perform(post("/api/notes")
+          .contentType(MediaType.APPLICATION_JSON)
+          .content("{\"body\":\"" + body + "\"}"))
+        .andReturn().getResponse().getStatus();
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
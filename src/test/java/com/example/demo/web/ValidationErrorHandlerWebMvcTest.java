@@ -0,0 +1,90 @@
+package com.example.demo.web;
+
+import com.example.demo.error.RejectedInputException;
+import com.example.demo.error.ValidationErrorHandler;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = ValidationErrorHandlerWebMvcTest.ProbeController.class)
+@Import({ValidationErrorHandlerWebMvcTest.ProbeController.class, ValidationErrorHandler.class})
+class ValidationErrorHandlerWebMvcTest {
+
+  // A custom message opts the component out of pre-validation, so bean validation reports it.
+  record ProbeRequest(@NotBlank(message = "is required") String name) {}
+
+  @RestController
+  @Validated
+  static class ProbeController {
+
+    @PostMapping("/probe/body")
+    String body(@Valid @RequestBody ProbeRequest request) {
+      return request.name();
+    }
+
+    @GetMapping("/probe/defaulted")
+    String defaulted(@RequestParam(name = "q", defaultValue = "fallback") @NotBlank String q) {
+      return q;
+    }
+
+    @GetMapping("/probe/aliased")
+    String aliased(@RequestParam("query") @NotBlank String value) {
+      return value;
+    }
+  }
+
+  @Autowired
+  MockMvc mvc;
+
+  @Test
+  void aliasedRequestParam_blankValue_rejectedUnderItsRequestName() throws Exception {
+    mvc.perform(get("/probe/aliased").queryParam("query", " "))
+      .andExpect(status().isBadRequest())
+      .andExpect(jsonPath("$.error").value("validation_error"))
+      .andExpect(jsonPath("$.message").value("query: must not be blank"))
+      .andExpect(result -> assertInstanceOf(RejectedInputException.class, result.getResolvedException()));
+  }
+
+  @Test
+  void aliasedRequestParam_presentValue_passesThrough() throws Exception {
+    mvc.perform(get("/probe/aliased").queryParam("query", "hello"))
+      .andExpect(status().isOk())
+      .andExpect(content().string("hello"));
+  }
+
+  @Test
+  void defaultedRequestParam_emptyValue_bindsDefaultInsteadOfRejecting() throws Exception {
+    mvc.perform(get("/probe/defaulted").queryParam("q", ""))
+      .andExpect(status().isOk())
+      .andExpect(content().string("fallback"));
+  }
+
+  @Test
+  void customMessageConstraint_fallsThroughToBeanValidation() throws Exception {
+    mvc.perform(post("/probe/body")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"name\":\" \"}"))
+      .andExpect(status().isBadRequest())
+      .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+      .andExpect(jsonPath("$.error").value("validation_error"))
+      .andExpect(jsonPath("$.message").value("name: is required"))
+      .andExpect(result -> assertInstanceOf(MethodArgumentNotValidException.class, result.getResolvedException()));
+  }
+}